@@ -0,0 +1,32 @@
+plugins {
+    id("java")
+}
+
+group = "eu.nitonfx.signaling"
+version = "1.0-SNAPSHOT"
+
+repositories {
+    mavenCentral()
+}
+
+java {
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(21)
+    }
+}
+
+dependencies {
+    implementation(project(":lib"))
+    implementation("org.openjdk.jmh:jmh-core:1.37")
+    annotationProcessor("org.openjdk.jmh:jmh-generator-annprocess:1.37")
+}
+
+// ./gradlew :benchmarks:jmh -Pjmh="MemoChain -prof gc"
+// without -Pjmh all benchmarks run with the gc profiler, which reports the allocation rate (gc.alloc.rate.norm = B/op)
+tasks.register<JavaExec>("jmh") {
+    group = "benchmark"
+    description = "Runs the JMH benchmarks"
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass = "org.openjdk.jmh.Main"
+    args = providers.gradleProperty("jmh").getOrElse("-prof gc").split(" ").filter { it.isNotBlank() }
+}
@@ -0,0 +1,56 @@
+package eu.nitonfx.signaling.benchmarks;
+
+import eu.nitonfx.signaling.api.Context;
+import eu.nitonfx.signaling.api.EffectHandle;
+import eu.nitonfx.signaling.api.ListSignal;
+import eu.nitonfx.signaling.api.Options;
+import eu.nitonfx.signaling.api.Signal;
+import eu.nitonfx.signaling.api.SignalLike;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creating signals, memos and effects with the different {@link Options.DebugMetadata} modes
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CreationBenchmark {
+    @Param({"OFF", "LAZY", "FULL"})
+    public Options.DebugMetadata debugMetadata;
+
+    private Context cx;
+    private Signal<Integer> source;
+
+    @Setup
+    public void setup() {
+        cx = Context.create(Options.production().withDebugMetadata(debugMetadata));
+        source = cx.createSignal(0);
+    }
+
+    @Benchmark
+    public Signal<Integer> createSignal() {
+        return cx.createSignal(1);
+    }
+
+    @Benchmark
+    public SignalLike<Integer> createMemo() {
+        return cx.createMemo(() -> source.get() + 1);
+    }
+
+    @Benchmark
+    public ListSignal<Integer> createListSignal() {
+        return cx.createListSignal();
+    }
+
+    @Benchmark
+    public EffectHandle createAndDisposeEffect() {
+        var effect = cx.createEffect(source::get);
+        effect.cancel();
+        return effect;
+    }
+}
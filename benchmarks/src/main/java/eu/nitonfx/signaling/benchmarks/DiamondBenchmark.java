@@ -0,0 +1,52 @@
+package eu.nitonfx.signaling.benchmarks;
+
+import eu.nitonfx.signaling.api.Context;
+import eu.nitonfx.signaling.api.Options;
+import eu.nitonfx.signaling.api.Signal;
+import eu.nitonfx.signaling.api.SignalLike;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A source, {@code width} memos depending on it and a memo joining them, observed by an effect
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiamondBenchmark {
+    @Param({"2", "100"})
+    public int width;
+
+    private Signal<Integer> source;
+    private int counter;
+    private long sink;
+
+    @Setup
+    public void setup() {
+        var cx = Context.create(Options.production());
+        source = cx.createSignal(0);
+        List<SignalLike<Integer>> sides = new ArrayList<>();
+        for (int i = 0; i < width; i++) {
+            var offset = i;
+            sides.add(cx.createMemo(() -> source.get() + offset));
+        }
+        var bottom = cx.createMemo(() -> {
+            long total = 0;
+            for (var side : sides) total += side.get();
+            return total;
+        });
+        cx.createEffect(() -> sink = bottom.get());
+    }
+
+    @Benchmark
+    public long write() {
+        source.set(counter++);
+        return sink;
+    }
+}
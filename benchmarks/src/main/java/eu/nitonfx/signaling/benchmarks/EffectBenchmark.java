@@ -0,0 +1,55 @@
+package eu.nitonfx.signaling.benchmarks;
+
+import eu.nitonfx.signaling.api.Context;
+import eu.nitonfx.signaling.api.EffectHandle;
+import eu.nitonfx.signaling.api.Options;
+import eu.nitonfx.signaling.api.Signal;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creation, re-execution and disposal of effects
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EffectBenchmark {
+    private Context cx;
+    private Signal<Integer> source;
+    private Signal<Integer> parentSource;
+    private int counter;
+    private int sink;
+
+    @Setup
+    public void setup() {
+        cx = Context.create(Options.production());
+        source = cx.createSignal(0);
+        parentSource = cx.createSignal(0);
+        cx.createEffect(() -> {
+            parentSource.get();
+            for (int i = 0; i < 10; i++) {
+                cx.createEffect(() -> sink += source.getUntracked());
+            }
+        });
+    }
+
+    @Benchmark
+    public EffectHandle createAndDispose() {
+        var effect = cx.createEffect(() -> sink += source.get());
+        effect.cancel();
+        return effect;
+    }
+
+    /**
+     * Re-runs an effect which disposes and re-creates its 10 nested effects
+     */
+    @Benchmark
+    public int rerunWithNestedEffects() {
+        parentSource.set(counter++);
+        return sink;
+    }
+}
@@ -0,0 +1,49 @@
+package eu.nitonfx.signaling.benchmarks;
+
+import eu.nitonfx.signaling.api.Context;
+import eu.nitonfx.signaling.api.Options;
+import eu.nitonfx.signaling.api.Signal;
+import eu.nitonfx.signaling.api.SignalLike;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Many signals observed by a single memo
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FanInBenchmark {
+    @Param({"10000"})
+    public int signals;
+
+    private final List<Signal<Integer>> sources = new ArrayList<>();
+    private SignalLike<Long> sum;
+    private int counter;
+
+    @Setup
+    public void setup() {
+        var cx = Context.create(Options.production());
+        for (int i = 0; i < signals; i++) {
+            sources.add(cx.createSignal(i));
+        }
+        sum = cx.createMemo(() -> {
+            long total = 0;
+            for (var source : sources) total += source.get();
+            return total;
+        });
+        sum.get();
+    }
+
+    @Benchmark
+    public long writeOneReadMemo() {
+        sources.get(counter % signals).set(counter++);
+        return sum.get();
+    }
+}
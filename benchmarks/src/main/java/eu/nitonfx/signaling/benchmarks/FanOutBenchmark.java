@@ -0,0 +1,41 @@
+package eu.nitonfx.signaling.benchmarks;
+
+import eu.nitonfx.signaling.api.Context;
+import eu.nitonfx.signaling.api.Options;
+import eu.nitonfx.signaling.api.Signal;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One signal observed by many effects
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FanOutBenchmark {
+    @Param({"10000"})
+    public int effects;
+
+    private Signal<Integer> source;
+    private int counter;
+    private long sink;
+
+    @Setup
+    public void setup() {
+        var cx = Context.create(Options.production());
+        source = cx.createSignal(0);
+        for (int i = 0; i < effects; i++) {
+            cx.createEffect(() -> sink += source.get());
+        }
+    }
+
+    @Benchmark
+    public long write() {
+        source.set(counter++);
+        return sink;
+    }
+}
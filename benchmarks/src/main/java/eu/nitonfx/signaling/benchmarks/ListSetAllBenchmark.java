@@ -0,0 +1,56 @@
+package eu.nitonfx.signaling.benchmarks;
+
+import eu.nitonfx.signaling.api.Context;
+import eu.nitonfx.signaling.api.ListSignal;
+import eu.nitonfx.signaling.api.Options;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Replacing the contents of an {@code ArraySignalList} with {@code setAll}, alternating between two orders of the same elements
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListSetAllBenchmark {
+    public enum Change {REVERSE, MOVE_ONE}
+
+    @Param({"REVERSE", "MOVE_ONE"})
+    public Change change;
+    @Param({"3000"})
+    public int size;
+
+    private ListSignal<Integer> list;
+    private List<Integer> original;
+    private List<Integer> changed;
+    private boolean flip;
+
+    @Setup
+    public void setup() {
+        var cx = Context.create(Options.production());
+        original = IntStream.range(0, size).boxed().toList();
+        changed = switch (change) {
+            case REVERSE -> original.reversed();
+            case MOVE_ONE -> {
+                var moved = new ArrayList<>(original);
+                moved.add(moved.removeFirst());
+                yield moved;
+            }
+        };
+        list = cx.createSignal(original);
+    }
+
+    @Benchmark
+    public int setAll() {
+        flip = !flip;
+        list.setAll(flip ? changed : original);
+        return list.size();
+    }
+}
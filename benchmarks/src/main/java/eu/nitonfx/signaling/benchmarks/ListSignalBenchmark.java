@@ -0,0 +1,52 @@
+package eu.nitonfx.signaling.benchmarks;
+
+import eu.nitonfx.signaling.api.Context;
+import eu.nitonfx.signaling.api.ListSignal;
+import eu.nitonfx.signaling.api.Options;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserting into and removing from an {@code ArraySignalList}, with and without an {@code onAdd} reconciliation attached
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListSignalBenchmark {
+    public enum Position {HEAD, MIDDLE, TAIL}
+
+    @Param({"HEAD", "MIDDLE", "TAIL"})
+    public Position position;
+    @Param({"false", "true"})
+    public boolean observed;
+    @Param({"1000"})
+    public int size;
+
+    private ListSignal<Integer> list;
+    private int index;
+    private long sink;
+
+    @Setup
+    public void setup() {
+        var cx = Context.create(Options.production());
+        list = cx.createListSignal();
+        for (int i = 0; i < size; i++) list.add(i);
+        if (observed) cx.run(() -> list.onAdd((element, i) -> sink += element.get()));
+        index = switch (position) {
+            case HEAD -> 0;
+            case MIDDLE -> size / 2;
+            case TAIL -> size;
+        };
+    }
+
+    @Benchmark
+    public long insertAndRemove() {
+        list.add(index, -1);
+        list.remove(index);
+        return sink;
+    }
+}
@@ -0,0 +1,43 @@
+package eu.nitonfx.signaling.benchmarks;
+
+import eu.nitonfx.signaling.api.Context;
+import eu.nitonfx.signaling.api.MapSignal;
+import eu.nitonfx.signaling.api.Options;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading and overwriting entries of the default {@link MapSignal}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapSignalBenchmark {
+    @Param({"1000"})
+    public int size;
+
+    private MapSignal<Integer, Integer> map;
+    private int counter;
+
+    @Setup
+    public void setup() {
+        var cx = Context.create(Options.production());
+        map = cx.createMapSignal();
+        for (int i = 0; i < size; i++) map.put(i, i);
+    }
+
+    @Benchmark
+    public Integer get() {
+        return map.get(counter++ % size);
+    }
+
+    @Benchmark
+    public Integer put() {
+        var key = counter % size;
+        return map.put(key, counter++);
+    }
+}
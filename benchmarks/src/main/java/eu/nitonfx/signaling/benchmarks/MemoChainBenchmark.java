@@ -0,0 +1,61 @@
+package eu.nitonfx.signaling.benchmarks;
+
+import eu.nitonfx.signaling.api.Context;
+import eu.nitonfx.signaling.api.Options;
+import eu.nitonfx.signaling.api.Signal;
+import eu.nitonfx.signaling.api.SignalLike;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A chain of memos where each memo depends on the previous one
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MemoChainBenchmark {
+    @Param({"10", "100", "1000"})
+    public int depth;
+
+    private Signal<Integer> head;
+    private SignalLike<Integer> tail;
+    private Signal<Integer> observedHead;
+    private int counter;
+    private int sink;
+
+    @Setup
+    public void setup() {
+        var cx = Context.create(Options.production());
+        head = cx.createSignal(0);
+        tail = chain(cx, head);
+        tail.get();
+        observedHead = cx.createSignal(0);
+        var observedTail = chain(cx, observedHead);
+        cx.createEffect(() -> sink = observedTail.get());
+    }
+
+    private SignalLike<Integer> chain(Context cx, SignalLike<Integer> head) {
+        SignalLike<Integer> last = head;
+        for (int i = 0; i < depth; i++) {
+            var previous = last;
+            last = cx.createMemo(() -> previous.get() + 1);
+        }
+        return last;
+    }
+
+    @Benchmark
+    public int writeHeadReadTail() {
+        head.set(counter++);
+        return tail.get();
+    }
+
+    @Benchmark
+    public int writeHeadWithEffectOnTail() {
+        observedHead.set(counter++);
+        return sink;
+    }
+}
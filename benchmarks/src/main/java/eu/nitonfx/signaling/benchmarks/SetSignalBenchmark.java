@@ -0,0 +1,40 @@
+package eu.nitonfx.signaling.benchmarks;
+
+import eu.nitonfx.signaling.api.Context;
+import eu.nitonfx.signaling.api.Options;
+import eu.nitonfx.signaling.api.SetSignal;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adding to and removing from a {@code HashSetSignal} with an {@code onAdd} reconciliation attached
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SetSignalBenchmark {
+    @Param({"10", "1000"})
+    public int size;
+
+    private SetSignal<Integer> set;
+    private long sink;
+
+    @Setup
+    public void setup() {
+        var cx = Context.create(Options.production());
+        set = cx.createSetSignal();
+        for (int i = 0; i < size; i++) set.add(i);
+        cx.run(() -> set.onAdd(element -> sink += element));
+    }
+
+    @Benchmark
+    public long addAndRemove() {
+        set.add(-1);
+        set.remove(-1);
+        return sink;
+    }
+}
@@ -0,0 +1,78 @@
+package eu.nitonfx.signaling.benchmarks;
+
+import eu.nitonfx.signaling.api.Context;
+import eu.nitonfx.signaling.api.IntSignal;
+import eu.nitonfx.signaling.api.Options;
+import eu.nitonfx.signaling.api.Signal;
+import eu.nitonfx.signaling.api.SignalLike;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading and writing a single signal with no subscriber, a memo that is read by an effect and an effect as subscriber.
+ * Memos that nothing observes detach from their sources, so the memo needs an effect to stay subscribed
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SignalBenchmark {
+    private final Object a = new Object();
+    private final Object b = new Object();
+    private boolean flip;
+    private int counter;
+    private Object sink;
+
+    private Signal<Object> unobserved;
+    private Signal<Object> observedByMemo;
+    private SignalLike<Object> memo;
+    private Signal<Object> observedByEffect;
+    private IntSignal intSignal;
+
+    @Setup
+    public void setup() {
+        var cx = Context.create(Options.production());
+        unobserved = cx.createSignal(a);
+        observedByMemo = cx.createSignal(a);
+        memo = cx.createMemo(observedByMemo::get);
+        cx.createEffect(() -> sink = memo.get());
+        observedByEffect = cx.createSignal(a);
+        cx.createEffect(() -> sink = observedByEffect.get());
+        intSignal = cx.createIntSignal(0);
+    }
+
+    private Object next() {
+        flip = !flip;
+        return flip ? b : a;
+    }
+
+    @Benchmark
+    public Object get() {
+        return unobserved.get();
+    }
+
+    @Benchmark
+    public void set() {
+        unobserved.set(next());
+    }
+
+    @Benchmark
+    public Object setObservedByMemo() {
+        observedByMemo.set(next());
+        return sink;
+    }
+
+    @Benchmark
+    public Object setObservedByEffect() {
+        observedByEffect.set(next());
+        return sink;
+    }
+
+    @Benchmark
+    public void setInt() {
+        intSignal.set(counter++);
+    }
+}
@@ -0,0 +1,75 @@
+package eu.nitonfx.signaling.benchmarks.suite;
+
+import eu.nitonfx.signaling.benchmarks.suite.ReactiveFramework.Computed;
+import eu.nitonfx.signaling.benchmarks.suite.ReactiveFramework.Writable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The layered graph of the cellx benchmark: every layer has 4 computeds reading the layer before, each observed by an effect.
+ * An operation writes all 4 sources in a batch and reads the last layer.
+ * Invalidation is pushed through the layers recursively, so thousands of layers need a bigger stack than the default one.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xss64m")
+public class CellxBenchmark {
+    @Param({"signaling"})
+    public String framework;
+    @Param({"1000", "5000", "10000"})
+    public int layers;
+
+    private static final int[] INITIAL = {1, 2, 3, 4};
+    private static final int[] UPDATED = {4, 3, 2, 1};
+
+    private ReactiveFramework fw;
+    private List<Writable<Integer>> start;
+    private List<Computed<Integer>> end;
+    private boolean flip;
+
+    @Setup
+    public void setup() {
+        fw = ReactiveFramework.create(framework);
+        start = List.of(fw.signal(INITIAL[0]), fw.signal(INITIAL[1]), fw.signal(INITIAL[2]), fw.signal(INITIAL[3]));
+        List<? extends Computed<Integer>> layer = start;
+        for (int i = 0; i < layers; i++) {
+            layer = nextLayer(fw, layer);
+        }
+        end = List.copyOf(layer);
+    }
+
+    private static List<Computed<Integer>> nextLayer(ReactiveFramework fw, List<? extends Computed<Integer>> previous) {
+        var a = previous.get(0);
+        var b = previous.get(1);
+        var c = previous.get(2);
+        var d = previous.get(3);
+        List<Computed<Integer>> layer = List.of(
+                fw.computed(b::read),
+                fw.computed(() -> a.read() - c.read()),
+                fw.computed(() -> b.read() + d.read()),
+                fw.computed(c::read)
+        );
+        for (var node : layer) {
+            fw.effect(node::read);
+        }
+        return layer;
+    }
+
+    @Benchmark
+    public int update() {
+        //the cellx benchmark writes (4, 3, 2, 1), alternating with the initial values keeps every operation equal
+        flip = !flip;
+        var values = flip ? UPDATED : INITIAL;
+        fw.batch(() -> {
+            for (int i = 0; i < 4; i++) {
+                start.get(i).write(values[i]);
+            }
+        });
+        return end.get(0).read() + end.get(1).read() + end.get(2).read() + end.get(3).read();
+    }
+}
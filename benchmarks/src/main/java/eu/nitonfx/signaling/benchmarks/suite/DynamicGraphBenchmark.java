@@ -0,0 +1,107 @@
+package eu.nitonfx.signaling.benchmarks.suite;
+
+import eu.nitonfx.signaling.benchmarks.suite.ReactiveFramework.Computed;
+import eu.nitonfx.signaling.benchmarks.suite.ReactiveFramework.Writable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The layered graphs with dynamic dependencies of the reactively benchmark.
+ * Every node reads {@code sources} nodes of the previous layer, dynamic nodes skip their last source while their first source is even.
+ * An operation writes one source and reads a fraction of the last layer.
+ * Memos are evaluated recursively, so the deep graph needs a bigger stack than the default one.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xss64m")
+public class DynamicGraphBenchmark {
+    public enum Shape {
+        SIMPLE_COMPONENT(10, 5, 1, 2, 0.2),
+        DYNAMIC_COMPONENT(10, 10, 0.75, 6, 0.2),
+        LARGE_WEB_APP(1000, 12, 0.95, 4, 1),
+        WIDE_DENSE(1000, 5, 1, 25, 1),
+        DEEP(5, 500, 1, 3, 1),
+        VERY_DYNAMIC(100, 15, 0.5, 6, 1);
+
+        private final int width;
+        private final int layers;
+        private final double staticFraction;
+        private final int sources;
+        private final double readFraction;
+
+        Shape(int width, int layers, double staticFraction, int sources, double readFraction) {
+            this.width = width;
+            this.layers = layers;
+            this.staticFraction = staticFraction;
+            this.sources = sources;
+            this.readFraction = readFraction;
+        }
+    }
+
+    @Param({"signaling"})
+    public String framework;
+    @Param
+    public Shape shape;
+
+    private List<Writable<Integer>> sources;
+    private List<Computed<Integer>> leaves;
+    private int counter;
+
+    @Setup
+    public void setup() {
+        var fw = ReactiveFramework.create(framework);
+        var random = new Random(0);
+        sources = new ArrayList<>();
+        for (int i = 0; i < shape.width; i++) {
+            sources.add(fw.signal(i));
+        }
+        List<? extends Computed<Integer>> previous = sources;
+        for (int layer = 0; layer < shape.layers; layer++) {
+            List<Computed<Integer>> row = new ArrayList<>();
+            for (int i = 0; i < shape.width; i++) {
+                List<Computed<Integer>> nodeSources = new ArrayList<>();
+                for (int j = 0; j < shape.sources; j++) {
+                    nodeSources.add(previous.get((i + j) % shape.width));
+                }
+                row.add(random.nextDouble() < shape.staticFraction ? staticNode(fw, nodeSources) : dynamicNode(fw, nodeSources));
+            }
+            previous = row;
+        }
+        var readCount = (int) Math.max(1, shape.width * shape.readFraction);
+        leaves = List.copyOf(previous.subList(0, readCount));
+    }
+
+    private static Computed<Integer> staticNode(ReactiveFramework fw, List<Computed<Integer>> sources) {
+        return fw.computed(() -> {
+            var sum = 0;
+            for (var source : sources) sum += source.read();
+            return sum;
+        });
+    }
+
+    private static Computed<Integer> dynamicNode(ReactiveFramework fw, List<Computed<Integer>> sources) {
+        return fw.computed(() -> {
+            var first = sources.getFirst().read();
+            var sum = first;
+            var last = first % 2 == 0 ? sources.size() - 1 : sources.size();
+            for (int i = 1; i < last; i++) sum += sources.get(i).read();
+            return sum;
+        });
+    }
+
+    @Benchmark
+    public int update() {
+        var i = counter++;
+        sources.get(i % shape.width).write(i);
+        var sum = 0;
+        for (var leaf : leaves) sum += leaf.read();
+        return sum;
+    }
+}
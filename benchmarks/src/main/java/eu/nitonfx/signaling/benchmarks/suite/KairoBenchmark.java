@@ -0,0 +1,279 @@
+package eu.nitonfx.signaling.benchmarks.suite;
+
+import eu.nitonfx.signaling.benchmarks.suite.ReactiveFramework.Computed;
+import eu.nitonfx.signaling.benchmarks.suite.ReactiveFramework.Writable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The graphs of the Kairo benchmarks, every benchmark operation is one iteration of the original benchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KairoBenchmark {
+
+    @State(Scope.Thread)
+    public static class Framework {
+        @Param({"signaling"})
+        public String framework;
+
+        ReactiveFramework create() {
+            return ReactiveFramework.create(framework);
+        }
+    }
+
+    private static void busy() {
+        var a = 0;
+        for (int i = 0; i < 100; i++) {
+            a++;
+        }
+        Blackhole.consumeCPU(a);
+    }
+
+    /**
+     * Memos in a chain where one produces the same value every time, so everything after it can skip recalculation
+     */
+    @State(Scope.Thread)
+    public static class AvoidablePropagation {
+        Writable<Integer> head;
+
+        @Setup
+        public void setup(Framework framework) {
+            var fw = framework.create();
+            head = fw.signal(0);
+            var computed1 = fw.computed(head::read);
+            var computed2 = fw.computed(() -> {
+                computed1.read();
+                return 0;
+            });
+            var computed3 = fw.computed(() -> {
+                busy();
+                return computed2.read() + 1;
+            });
+            var computed4 = fw.computed(() -> computed3.read() + 2);
+            var computed5 = fw.computed(() -> computed4.read() + 3);
+            fw.effect(() -> {
+                computed5.read();
+                busy();
+            });
+        }
+    }
+
+    @Benchmark
+    public void avoidablePropagation(AvoidablePropagation graph) {
+        for (int i = 0; i < 1000; i++) {
+            graph.head.write(i);
+        }
+    }
+
+    /**
+     * One signal with 50 short chains of memos, each observed by an effect
+     */
+    @State(Scope.Thread)
+    public static class BroadPropagation {
+        Writable<Integer> head;
+
+        @Setup
+        public void setup(Framework framework) {
+            var fw = framework.create();
+            head = fw.signal(0);
+            for (int i = 0; i < 50; i++) {
+                var offset = i;
+                var current = fw.computed(() -> head.read() + offset);
+                var current2 = fw.computed(() -> current.read() + 1);
+                fw.effect(current2::read);
+            }
+        }
+    }
+
+    @Benchmark
+    public void broadPropagation(BroadPropagation graph) {
+        for (int i = 0; i < 50; i++) {
+            graph.head.write(i);
+        }
+    }
+
+    /**
+     * A chain of 50 memos observed by an effect
+     */
+    @State(Scope.Thread)
+    public static class DeepPropagation {
+        Writable<Integer> head;
+
+        @Setup
+        public void setup(Framework framework) {
+            var fw = framework.create();
+            head = fw.signal(0);
+            Computed<Integer> current = head;
+            for (int i = 0; i < 50; i++) {
+                var previous = current;
+                current = fw.computed(() -> previous.read() + 1);
+            }
+            fw.effect(current::read);
+        }
+    }
+
+    @Benchmark
+    public void deepPropagation(DeepPropagation graph) {
+        for (int i = 0; i < 100; i++) {
+            graph.head.write(i);
+        }
+    }
+
+    /**
+     * 5 memos depending on one signal joined by a single memo
+     */
+    @State(Scope.Thread)
+    public static class Diamond {
+        Writable<Integer> head;
+
+        @Setup
+        public void setup(Framework framework) {
+            var fw = framework.create();
+            head = fw.signal(0);
+            List<Computed<Integer>> current = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                current.add(fw.computed(() -> head.read() + 1));
+            }
+            var sum = fw.computed(() -> current.stream().mapToInt(Computed::read).sum());
+            fw.effect(sum::read);
+        }
+    }
+
+    @Benchmark
+    public void diamond(Diamond graph) {
+        for (int i = 0; i < 500; i++) {
+            graph.head.write(i);
+        }
+    }
+
+    /**
+     * 100 signals merged into one memo and split up again into 100 memos with effects
+     */
+    @State(Scope.Thread)
+    public static class Mux {
+        List<Writable<Integer>> heads = new ArrayList<>();
+
+        @Setup
+        public void setup(Framework framework) {
+            var fw = framework.create();
+            for (int i = 0; i < 100; i++) {
+                heads.add(fw.signal(0));
+            }
+            var mux = fw.computed(() -> heads.stream().map(Computed::read).toArray(Integer[]::new));
+            for (int i = 0; i < 100; i++) {
+                var index = i;
+                var split = fw.computed(() -> mux.read()[index]);
+                var plusOne = fw.computed(() -> split.read() + 1);
+                fw.effect(plusOne::read);
+            }
+        }
+    }
+
+    @Benchmark
+    public void mux(Mux graph) {
+        for (int i = 0; i < 10; i++) {
+            graph.heads.get(i).write(i + 1);
+        }
+        for (int i = 0; i < 10; i++) {
+            graph.heads.get(i).write(i * 2);
+        }
+    }
+
+    /**
+     * A memo that reads the same signal 30 times
+     */
+    @State(Scope.Thread)
+    public static class RepeatedObservers {
+        Writable<Integer> head;
+
+        @Setup
+        public void setup(Framework framework) {
+            var fw = framework.create();
+            head = fw.signal(0);
+            var current = fw.computed(() -> {
+                var result = 0;
+                for (int i = 0; i < 30; i++) {
+                    result += head.read();
+                }
+                return result;
+            });
+            fw.effect(current::read);
+        }
+    }
+
+    @Benchmark
+    public void repeatedObservers(RepeatedObservers graph) {
+        for (int i = 0; i < 100; i++) {
+            graph.head.write(i);
+        }
+    }
+
+    /**
+     * A chain of 10 memos and a memo reading every element of the chain
+     */
+    @State(Scope.Thread)
+    public static class Triangle {
+        Writable<Integer> head;
+
+        @Setup
+        public void setup(Framework framework) {
+            var fw = framework.create();
+            head = fw.signal(0);
+            Computed<Integer> current = head;
+            List<Computed<Integer>> list = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                var previous = current;
+                list.add(current);
+                current = fw.computed(() -> previous.read() + 1);
+            }
+            var sum = fw.computed(() -> list.stream().mapToInt(Computed::read).sum());
+            fw.effect(sum::read);
+        }
+    }
+
+    @Benchmark
+    public void triangle(Triangle graph) {
+        for (int i = 0; i < 100; i++) {
+            graph.head.write(i);
+        }
+    }
+
+    /**
+     * A memo whose dependencies change with every write
+     */
+    @State(Scope.Thread)
+    public static class Unstable {
+        Writable<Integer> head;
+
+        @Setup
+        public void setup(Framework framework) {
+            var fw = framework.create();
+            head = fw.signal(0);
+            var doubled = fw.computed(() -> head.read() * 2);
+            var inverse = fw.computed(() -> -head.read());
+            var current = fw.computed(() -> {
+                var result = 0;
+                for (int i = 0; i < 20; i++) {
+                    result += head.read() % 2 == 1 ? doubled.read() : inverse.read();
+                }
+                return result;
+            });
+            fw.effect(current::read);
+        }
+    }
+
+    @Benchmark
+    public void unstable(Unstable graph) {
+        for (int i = 0; i < 100; i++) {
+            graph.head.write(i);
+        }
+    }
+}
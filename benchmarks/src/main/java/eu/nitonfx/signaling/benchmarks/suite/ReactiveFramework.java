@@ -0,0 +1,41 @@
+package eu.nitonfx.signaling.benchmarks.suite;
+
+import java.util.function.Supplier;
+
+/**
+ * The minimal set of primitives the cross-framework benchmarks need, modelled after the adapter of the JS reactivity benchmarks.
+ * Implementing this for another library allows running the same graphs against it.
+ */
+public interface ReactiveFramework {
+
+    interface Computed<T> {
+        T read();
+    }
+
+    interface Writable<T> extends Computed<T> {
+        void write(T value);
+    }
+
+    String name();
+
+    <T> Writable<T> signal(T initial);
+
+    <T> Computed<T> computed(Supplier<T> function);
+
+    void effect(Runnable effect);
+
+    /**
+     * Runs the writes of the function as one update
+     */
+    void batch(Runnable function);
+
+    /**
+     * @param name the name of the framework, as used in the {@code framework} parameter of the benchmarks
+     */
+    static ReactiveFramework create(String name) {
+        return switch (name) {
+            case "signaling" -> new SignalingFramework();
+            default -> throw new IllegalArgumentException("unknown framework: " + name);
+        };
+    }
+}
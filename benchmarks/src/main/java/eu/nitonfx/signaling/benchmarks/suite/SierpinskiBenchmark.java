@@ -0,0 +1,64 @@
+package eu.nitonfx.signaling.benchmarks.suite;
+
+import eu.nitonfx.signaling.benchmarks.suite.ReactiveFramework.Computed;
+import eu.nitonfx.signaling.benchmarks.suite.ReactiveFramework.Writable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An inverted Pascal triangle: the first row are signals, every node below reads its left and right parent.
+ * Taken modulo 2 the values form a Sierpinski triangle.
+ * Dependencies are dynamic: a node only reads its right parent while its left parent is odd,
+ * so flipping a bit in the first row adds and removes edges all the way down.
+ * An effect observes the tip of the triangle, an operation flips one signal of the first row.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SierpinskiBenchmark {
+    @Param({"signaling"})
+    public String framework;
+    @Param({"32", "128"})
+    public int width;
+
+    private List<Writable<Integer>> top;
+    private int counter;
+    private int sink;
+
+    @Setup
+    public void setup() {
+        var fw = ReactiveFramework.create(framework);
+        top = new ArrayList<>();
+        for (int i = 0; i < width; i++) {
+            top.add(fw.signal(i % 2));
+        }
+        List<? extends Computed<Integer>> row = top;
+        while (row.size() > 1) {
+            List<Computed<Integer>> next = new ArrayList<>();
+            for (int i = 0; i + 1 < row.size(); i++) {
+                var left = row.get(i);
+                var right = row.get(i + 1);
+                next.add(fw.computed(() -> {
+                    var l = left.read();
+                    return l % 2 == 1 ? (l + right.read()) % 2 : l;
+                }));
+            }
+            row = next;
+        }
+        var tip = row.getFirst();
+        fw.effect(() -> sink = tip.read());
+    }
+
+    @Benchmark
+    public int flip() {
+        var signal = top.get(counter++ % width);
+        signal.write(1 - signal.read());
+        return sink;
+    }
+}
@@ -0,0 +1,49 @@
+package eu.nitonfx.signaling.benchmarks.suite;
+
+import eu.nitonfx.signaling.api.Context;
+import eu.nitonfx.signaling.api.Options;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs the benchmark graphs against a {@link Context}
+ */
+public class SignalingFramework implements ReactiveFramework {
+    private final Context cx = Context.create(Options.production());
+
+    @Override
+    public String name() {
+        return "signaling";
+    }
+
+    @Override
+    public <T> Writable<T> signal(T initial) {
+        var signal = cx.createSignal(initial);
+        return new Writable<>() {
+            @Override
+            public void write(T value) {
+                signal.set(value);
+            }
+
+            @Override
+            public T read() {
+                return signal.get();
+            }
+        };
+    }
+
+    @Override
+    public <T> Computed<T> computed(Supplier<T> function) {
+        return cx.createMemo(function)::get;
+    }
+
+    @Override
+    public void effect(Runnable effect) {
+        cx.createEffect(effect);
+    }
+
+    @Override
+    public void batch(Runnable function) {
+        cx.batch(function);
+    }
+}
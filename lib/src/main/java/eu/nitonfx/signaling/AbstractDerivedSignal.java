@@ -0,0 +1,273 @@
+package eu.nitonfx.signaling;
+
+import eu.nitonfx.signaling.api.SignalLike;
+import eu.nitonfx.signaling.api.Subscription;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * A memoized computation based on other signals.
+ * <p>
+ * Invalidation works push-pull: when a source gets written the change is pushed through the graph in real time,
+ * memos reading the source directly become {@link State#DIRTY} while all memos further downstream only become
+ * {@link State#CHECK} since they might not be affected if the memos in between produce the same value.
+ * On read a {@link State#CHECK} memo brings its sources up-to-date and compares their {@link #version() versions}
+ * with the versions it read. This way every memo is verified at most once per update and recalculated only when needed.
+ * </p>
+ * <p>
+ * A memo is only subscribed to its sources while it is observed by effects or other memos. When the last observer unsubscribes
+ * the memo detaches from its sources, so unused memos are not notified and not retained by their sources.
+ * An unobserved memo verifies its sources on every read instead, when it is observed again it re-attaches.
+ * </p>
+ * Implementations store the calculated value (boxed or primitive) in a volatile field, see {@link #calculate(boolean)}.
+ * Reading an up-to-date memo does not lock, bringing it up-to-date happens while holding the write lock of the context.
+ *
+ * @param <T> the (boxed) type of the value
+ */
+abstract class AbstractDerivedSignal<T> implements SignalLike<T>, Ranked {
+    private enum State {
+        /**
+         * The cached value is up-to-date
+         */
+        CLEAN,
+        /**
+         * A transitive dependency changed, sources need to be verified before the cached value can be used
+         */
+        CHECK,
+        /**
+         * A direct dependency changed, the value needs to be recalculated
+         */
+        DIRTY
+    }
+
+    private final Consumer<SignalLike<T>> onReadListener;
+    private final Function<Runnable, EffectCapture> captureFunction;
+    @Nullable
+    private final StackTraceElement origin;
+    private final Subscribers<T> onDirtyEffects;
+    private final Runnable dispatchToDependants;
+    private final Consumer<Runnable> changeCallback;
+    private final Subscribers<T> onDirtyPropagators;
+    private final Lock writeLock;
+    private final LongSupplier writeEpoch;
+
+    private Set<Subscription> subscriptions = Set.of();
+    private volatile Set<Dependency<?>> dependencies = Set.of();
+    private volatile State state = State.DIRTY;
+    private boolean initialized = false;
+    /**
+     * true while the memo is subscribed to its sources, which is the case while it is observed
+     */
+    private volatile boolean attached = false;
+    /**
+     * The write epoch of the context at which the detached memo was last known to be up-to-date
+     */
+    private volatile long verifiedAt = -1;
+    private int height = 1;
+    private volatile long version = 0;
+    /**
+     * true if the memo was invalidated and its dependants were not yet notified about it.
+     * A memo with multiple changed sources is notified once per source, but dependants only need to be notified once
+     */
+    private boolean notificationPending = false;
+
+    AbstractDerivedSignal(
+            @Nullable StackTraceElement origin,
+            Consumer<SignalLike<T>> onReadListener,
+            Function<Runnable, EffectCapture> captureFunction,
+            Consumer<Runnable> changeCallback,
+            Lock writeLock,
+            LongSupplier writeEpoch
+    ) {
+        this.onReadListener = onReadListener;
+        this.captureFunction = captureFunction;
+        this.origin = origin;
+        this.changeCallback = changeCallback;
+        this.writeLock = writeLock;
+        this.writeEpoch = writeEpoch;
+        this.onDirtyEffects = new Subscribers<>(writeLock, this::detachIfUnobserved);
+        this.onDirtyPropagators = new Subscribers<>(writeLock, this::detachIfUnobserved);
+        this.dispatchToDependants = () -> onDirtyEffects.dispatch(this);
+    }
+
+    /**
+     * Calls the function of the memo and stores the result
+     *
+     * @param initialized false if there is no previous value to compare to
+     * @return true if the stored value changed
+     */
+    protected abstract boolean calculate(boolean initialized);
+
+    /**
+     * @return the cached value, without updating it
+     */
+    protected abstract Object cachedValue();
+
+    /**
+     * Has to be called on every tracked read
+     */
+    protected void onRead() {
+        onReadListener.accept(this);
+    }
+
+    /**
+     * Called in real time when a source might have changed.
+     * Derived sources might recalculate to the same value, so they only require a check
+     */
+    private void onSourceDirty(SignalLike<?> source) {
+        mark(source instanceof AbstractDerivedSignal<?> ? State.CHECK : State.DIRTY);
+    }
+
+    private void mark(State newState) {
+        var wasClean = state == State.CLEAN;
+        if (newState.compareTo(state) > 0) state = newState;
+        if (wasClean) {
+            notificationPending = true;
+            onDirtyPropagators.dispatch(this);
+        }
+    }
+
+    /**
+     * Brings the cached value up-to-date, has to be called before the cached value is read
+     */
+    protected void updateIfNecessary() {
+        var current = state;
+        if (current == State.CLEAN) return;
+        //verifying a detached memo whose sources did not change does not modify it, so it needs no lock
+        if (current == State.CHECK && !attached && isUnchangedSinceVerified()) return;
+        writeLock.lock();
+        try {
+            if (state == State.CHECK && isAnyDependencyChanged()) state = State.DIRTY;
+            if (state == State.DIRTY) recalculate();
+            //changes are only pushed to attached memos, a detached memo has to verify its sources on every read
+            if (attached) {
+                state = State.CLEAN;
+            } else {
+                state = State.CHECK;
+                verifiedAt = writeEpoch.getAsLong();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * As long as nothing was written since the last verification the sources can not have changed,
+     * this keeps reading a chain of detached memos linear instead of verifying every memo again for every dependant
+     */
+    private boolean isUnchangedSinceVerified() {
+        var epoch = writeEpoch.getAsLong();
+        if (verifiedAt == epoch) return true;
+        if (isAnyDependencyChanged()) return false;
+        verifiedAt = epoch;
+        return true;
+    }
+
+    private boolean isAnyDependencyChanged() {
+        for (var dependency : dependencies) {
+            if (dependency.isChanged()) return true;
+        }
+        return false;
+    }
+
+    private void recalculate() {
+        var previousSubscriptions = subscriptions;
+        var changed = new boolean[1];
+        var capture = captureFunction.apply(() -> changed[0] = calculate(initialized));
+        if (changed[0]) version++;
+        initialized = true;
+        state = State.CLEAN;
+        dependencies = capture.dependencies();
+        height = 1 + capture.dependencies().stream().mapToInt(dep -> Ranked.heightOf(dep.signal())).max().orElse(0);
+        //subscribing before unsubscribing keeps sources that are still read from detaching
+        subscriptions = attached ? subscribeTo(dependencies) : Set.of();
+        previousSubscriptions.forEach(Subscription::unsubscribe);
+        if (!capture.cleanup().isEmpty())
+            throw new UnsupportedOperationException("cleanup not allowed in derived signal (%s): %s".formatted(this, capture.cleanup()));
+        if (!capture.deferredEffects().isEmpty())
+            throw new UnsupportedOperationException("side effects in derived signal (%s): %s".formatted(this, capture.deferredEffects()));
+        if (!capture.nestedEffects().isEmpty())
+            throw new UnsupportedOperationException("side effects in derived signal (%s): %s".formatted(this, capture.nestedEffects()));
+    }
+
+    private Set<Subscription> subscribeTo(Set<Dependency<?>> sources) {
+        return sources.stream()
+                .<Subscription>mapMulti((dep, next) -> {
+                    next.accept(dep.signal().propagateDirty(this::onSourceDirty));
+                    next.accept(dep.signal().onDirtyEffect((__) -> notifyDependants()));
+                })
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Subscribes to the sources when the first observer subscribed.
+     * Changes were not pushed while detached, so the memo is verified to get notified about later changes again
+     */
+    private void attach() {
+        if (attached) return;
+        attached = true;
+        subscriptions = subscribeTo(dependencies);
+        if (initialized && state != State.CLEAN) updateIfNecessary();
+    }
+
+    private void detachIfUnobserved() {
+        if (!attached || !onDirtyEffects.isEmpty() || !onDirtyPropagators.isEmpty()) return;
+        attached = false;
+        notificationPending = false;
+        if (state == State.CLEAN) state = State.CHECK;
+        var previousSubscriptions = subscriptions;
+        subscriptions = Set.of();
+        previousSubscriptions.forEach(Subscription::unsubscribe);
+    }
+
+    private void notifyDependants() {
+        if (!notificationPending) return;
+        notificationPending = false;
+        changeCallback.accept(dispatchToDependants);
+    }
+
+    @Override
+    public long version() {
+        updateIfNecessary();
+        return version;
+    }
+
+    @Override
+    public int height() {
+        return height;
+    }
+
+    @Override
+    public Subscription onDirtyEffect(Consumer<SignalLike<T>> effect) {
+        return observe(onDirtyEffects, effect);
+    }
+
+    @Override
+    public Subscription propagateDirty(Consumer<SignalLike<T>> propagate) {
+        return observe(onDirtyPropagators, propagate);
+    }
+
+    private Subscription observe(Subscribers<T> subscribers, Consumer<SignalLike<T>> observer) {
+        writeLock.lock();
+        try {
+            var subscription = subscribers.add(observer);
+            attach();
+            return subscription;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "%s { value = %s, clean = %s } %s".formatted(
+                getClass().getSimpleName(), cachedValue(), state == State.CLEAN, origin != null ? origin : ""
+        );
+    }
+}
@@ -0,0 +1,104 @@
+package eu.nitonfx.signaling;
+
+import eu.nitonfx.signaling.api.Signal;
+import eu.nitonfx.signaling.api.SignalLike;
+import eu.nitonfx.signaling.api.Subscription;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+
+/**
+ * The subscription handling shared by all signals that hold a value that can be changed/updated.
+ * Implementations store the value (boxed or primitive) and call {@link #onRead()} and {@link #onChanged()}.
+ * The value has to be stored in a volatile field and written while holding {@link #writeLock}, reads do not lock.
+ *
+ * @param <T> the (boxed) type of the value
+ */
+abstract class AbstractMutableSignal<T> implements Signal<T> {
+    private final Subscribers<T> effects;
+    private final Subscribers<T> instantObservers;
+    private final Runnable notifyEffects;
+
+    private final Consumer<Runnable> writeCallback;
+    private final Consumer<SignalLike<T>> readCallback;
+    protected final Lock writeLock;
+
+    private String name;
+    private volatile long version = 0;
+
+    /**
+     * @param readCallback  a function called when the signal is reactively read, param1: the thing that current effects need to subsribe to
+     * @param writeCallback a function called when the signal is written to, the parameter notifies the effects of the signal when run
+     * @param writeLock     held while the signal is written and while the subscribers are modified or notified
+     */
+    AbstractMutableSignal(Consumer<SignalLike<T>> readCallback, Consumer<Runnable> writeCallback, Lock writeLock) {
+        this(readCallback, writeCallback, writeLock, null);
+    }
+
+    /**
+     * @param onUnobserved called when the last effect or memo unsubscribed from this signal
+     */
+    AbstractMutableSignal(Consumer<SignalLike<T>> readCallback, Consumer<Runnable> writeCallback, Lock writeLock, @Nullable Runnable onUnobserved) {
+        this.readCallback = readCallback;
+        this.writeCallback = writeCallback;
+        this.writeLock = writeLock;
+        Runnable onEmptied = onUnobserved == null ? null : () -> {
+            if (!isObserved()) onUnobserved.run();
+        };
+        this.effects = new Subscribers<>(writeLock, onEmptied);
+        this.instantObservers = new Subscribers<>(writeLock, onEmptied);
+        this.notifyEffects = () -> effects.dispatch(this);
+    }
+
+    /**
+     * Has to be called on every tracked read
+     */
+    protected void onRead() {
+        readCallback.accept(this);
+    }
+
+    /**
+     * Has to be called after the value was changed to a different value, while holding the {@link #writeLock}
+     */
+    protected void onChanged() {
+        version++;
+        instantObservers.dispatch(this);
+        writeCallback.accept(notifyEffects);
+    }
+
+    @Override
+    public long version() {
+        return version;
+    }
+
+    @Override
+    public Subscription onDirtyEffect(Consumer<SignalLike<T>> consumer) {
+        return effects.add(consumer);
+    }
+
+    @Override
+    public Subscription propagateDirty(Consumer<SignalLike<T>> consumer) {
+        return instantObservers.add(consumer);
+    }
+
+    /**
+     * @return true if effects or memos are subscribed to the signal
+     */
+    boolean isObserved() {
+        return !effects.isEmpty() || !instantObservers.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + name + ")";
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
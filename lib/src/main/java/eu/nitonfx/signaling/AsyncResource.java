@@ -0,0 +1,113 @@
+package eu.nitonfx.signaling;
+
+import eu.nitonfx.signaling.api.*;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A resource that fetches a value whenever the key provided by the source changes.
+ * <p>
+ * The key is memoized, so a source that recalculates to an equal key does not fetch again.
+ * Every key is fetched in an effect whose cleanup cancels the request, changing the key therefore cancels the request in flight.
+ * A result is only written if it belongs to the latest request, results of outdated requests are dropped.
+ * </p>
+ */
+final class AsyncResource<K, V> implements Resource<V> {
+    private final SetStackContext context;
+    private final Function<K, CompletableFuture<V>> fetcher;
+    private final Executor fetchExecutor;
+    private final Executor owner;
+    private final Signal<@Nullable V> value;
+    private final BooleanSignal loading;
+    private final Signal<@Nullable Throwable> error;
+    /**
+     * The result of the latest request, null if the key is null
+     */
+    @Nullable
+    private volatile CompletableFuture<V> current;
+    /**
+     * fetches the current key, nested in the effect the resource was created in
+     */
+    private final EffectHandle fetching;
+
+    /**
+     * @param fetchExecutor calls the fetcher
+     * @param owner         writes the results to the signals
+     */
+    AsyncResource(SetStackContext context, Supplier<@Nullable K> source, Function<K, CompletableFuture<V>> fetcher, Executor fetchExecutor, Executor owner) {
+        this.context = context;
+        this.fetcher = fetcher;
+        this.fetchExecutor = fetchExecutor;
+        this.owner = owner;
+        this.value = context.createNullSignal();
+        this.loading = context.createBooleanSignal(false);
+        this.error = context.createNullSignal();
+        var key = context.createMemo(source);
+        this.fetching = context.createInternalEffect(() -> fetch(key.get()));
+    }
+
+    private void fetch(@Nullable K key) {
+        if (key == null) {
+            current = null;
+            loading.set(false);
+            return;
+        }
+        var result = new CompletableFuture<V>();
+        current = result;
+        loading.set(true);
+        error.set(null);
+        fetchExecutor.execute(() -> {
+            if (result.isDone()) return;
+            try {
+                var fetched = fetcher.apply(key);
+                result.whenComplete((__, ___) -> {
+                    if (result.isCancelled()) fetched.cancel(true);
+                });
+                fetched.whenComplete((fetchedValue, failure) -> {
+                    if (failure != null) result.completeExceptionally(failure);
+                    else result.complete(fetchedValue);
+                });
+            } catch (Throwable failure) {
+                result.completeExceptionally(failure);
+            }
+        });
+        result.whenComplete((fetchedValue, failure) -> {
+            if (!result.isCancelled()) owner.execute(() -> complete(result, fetchedValue, failure));
+        });
+        context.cleanup(() -> result.cancel(true));
+    }
+
+    private void complete(CompletableFuture<V> result, @Nullable V fetchedValue, @Nullable Throwable failure) {
+        context.batch(() -> {
+            if (current != result) return;
+            if (failure == null) value.set(fetchedValue);
+            else error.set(failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure);
+            loading.set(false);
+        });
+    }
+
+    @Override
+    public SignalLike<@Nullable V> value() {
+        return value;
+    }
+
+    @Override
+    public BooleanSignalLike loading() {
+        return loading;
+    }
+
+    @Override
+    public SignalLike<@Nullable Throwable> error() {
+        return error;
+    }
+
+    @Override
+    public void cancel() {
+        fetching.cancel();
+    }
+}
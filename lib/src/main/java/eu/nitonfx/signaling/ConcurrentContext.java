@@ -0,0 +1,35 @@
+package eu.nitonfx.signaling;
+
+import eu.nitonfx.signaling.api.Options;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A context whose signals and memos can be read and written from any thread.
+ * <ul>
+ *     <li>Every thread has its own stack of running effects and memos, so reads on one thread are never tracked by an effect running on another thread</li>
+ *     <li>Writes, batches and effects are serialized by a single (reentrant) write lock, this makes writes linearizable.
+ *     Effects run on the thread that caused them to run while it holds the lock</li>
+ *     <li>Reading a signal or an up-to-date memo does not lock, so readers on many threads do not block each other.
+ *     Only reading a memo that has to be recalculated takes the write lock</li>
+ * </ul>
+ * The signal collections ({@link eu.nitonfx.signaling.api.ListSignal}, {@link eu.nitonfx.signaling.api.SetSignal}, {@link eu.nitonfx.signaling.api.MapSignal})
+ * are not thread-safe, when shared between threads they have to be accessed from within {@link #batch(Runnable)}.
+ */
+public class ConcurrentContext extends SetStackContext {
+    private final ThreadLocal<FrameStack> stacks = ThreadLocal.withInitial(FrameStack::new);
+
+    public ConcurrentContext() {
+        this(Options.defaults());
+    }
+
+    public ConcurrentContext(@NotNull Options options) {
+        super(options, new ReentrantLock());
+    }
+
+    @Override
+    FrameStack stack() {
+        return stacks.get();
+    }
+}
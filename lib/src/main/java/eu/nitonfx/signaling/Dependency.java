@@ -4,16 +4,26 @@ import eu.nitonfx.signaling.api.SignalLike;
 
 import java.util.Objects;
 
+/**
+ * A signal that was read, together with the version of the value that was read.
+ * The value itself is only kept for {@link SignalLike#UNVERSIONED unversioned} signals
+ */
 record Dependency<T>(
         SignalLike<T> signal,
+        long version,
         T lastValue
 ) {
     Dependency(SignalLike<T> sig) {
-        this(sig, sig.getUntracked());
+        this(sig, sig.version());
+    }
+
+    private Dependency(SignalLike<T> sig, long version) {
+        this(sig, version, version == SignalLike.UNVERSIONED ? sig.getUntracked() : null);
     }
 
     public boolean isChanged() {
-        return !Objects.equals(signal.getUntracked(), lastValue);
+        if (version == SignalLike.UNVERSIONED) return !Objects.equals(signal.getUntracked(), lastValue);
+        return signal.version() != version;
     }
 
     @Override
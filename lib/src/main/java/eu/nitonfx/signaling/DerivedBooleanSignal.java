@@ -0,0 +1,56 @@
+package eu.nitonfx.signaling;
+
+import eu.nitonfx.signaling.api.BooleanSignalLike;
+import eu.nitonfx.signaling.api.SignalLike;
+
+import java.util.concurrent.locks.Lock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * A memoized computation producing a primitive {@code boolean} without boxing it, see {@link AbstractDerivedSignal}
+ */
+class DerivedBooleanSignal extends AbstractDerivedSignal<Boolean> implements BooleanSignalLike {
+    private final BooleanSupplier function;
+
+    private volatile boolean cache;
+
+    DerivedBooleanSignal(
+            StackTraceElement origin,
+            BooleanSupplier function,
+            Consumer<SignalLike<Boolean>> onReadListener,
+            Function<Runnable, EffectCapture> captureFunction,
+            Consumer<Runnable> changeCallback,
+            Lock writeLock,
+            LongSupplier writeEpoch
+    ) {
+        super(origin, onReadListener, captureFunction, changeCallback, writeLock, writeEpoch);
+        this.function = function;
+    }
+
+    @Override
+    protected boolean calculate(boolean initialized) {
+        var previous = cache;
+        cache = function.getAsBoolean();
+        return !initialized || !(previous == cache);
+    }
+
+    @Override
+    protected Object cachedValue() {
+        return cache;
+    }
+
+    @Override
+    public boolean getAsBoolean() {
+        onRead();
+        return getAsBooleanUntracked();
+    }
+
+    @Override
+    public boolean getAsBooleanUntracked() {
+        updateIfNecessary();
+        return cache;
+    }
+}
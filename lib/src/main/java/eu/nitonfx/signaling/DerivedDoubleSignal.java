@@ -0,0 +1,56 @@
+package eu.nitonfx.signaling;
+
+import eu.nitonfx.signaling.api.DoubleSignalLike;
+import eu.nitonfx.signaling.api.SignalLike;
+
+import java.util.concurrent.locks.Lock;
+import java.util.function.DoubleSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * A memoized computation producing a primitive {@code double} without boxing it, see {@link AbstractDerivedSignal}
+ */
+class DerivedDoubleSignal extends AbstractDerivedSignal<Double> implements DoubleSignalLike {
+    private final DoubleSupplier function;
+
+    private volatile double cache;
+
+    DerivedDoubleSignal(
+            StackTraceElement origin,
+            DoubleSupplier function,
+            Consumer<SignalLike<Double>> onReadListener,
+            Function<Runnable, EffectCapture> captureFunction,
+            Consumer<Runnable> changeCallback,
+            Lock writeLock,
+            LongSupplier writeEpoch
+    ) {
+        super(origin, onReadListener, captureFunction, changeCallback, writeLock, writeEpoch);
+        this.function = function;
+    }
+
+    @Override
+    protected boolean calculate(boolean initialized) {
+        var previous = cache;
+        cache = function.getAsDouble();
+        return !initialized || !(Double.doubleToLongBits(previous) == Double.doubleToLongBits(cache));
+    }
+
+    @Override
+    protected Object cachedValue() {
+        return cache;
+    }
+
+    @Override
+    public double getAsDouble() {
+        onRead();
+        return getAsDoubleUntracked();
+    }
+
+    @Override
+    public double getAsDoubleUntracked() {
+        updateIfNecessary();
+        return cache;
+    }
+}
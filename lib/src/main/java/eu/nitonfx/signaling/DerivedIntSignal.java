@@ -0,0 +1,56 @@
+package eu.nitonfx.signaling;
+
+import eu.nitonfx.signaling.api.IntSignalLike;
+import eu.nitonfx.signaling.api.SignalLike;
+
+import java.util.concurrent.locks.Lock;
+import java.util.function.IntSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * A memoized computation producing a primitive {@code int} without boxing it, see {@link AbstractDerivedSignal}
+ */
+class DerivedIntSignal extends AbstractDerivedSignal<Integer> implements IntSignalLike {
+    private final IntSupplier function;
+
+    private volatile int cache;
+
+    DerivedIntSignal(
+            StackTraceElement origin,
+            IntSupplier function,
+            Consumer<SignalLike<Integer>> onReadListener,
+            Function<Runnable, EffectCapture> captureFunction,
+            Consumer<Runnable> changeCallback,
+            Lock writeLock,
+            LongSupplier writeEpoch
+    ) {
+        super(origin, onReadListener, captureFunction, changeCallback, writeLock, writeEpoch);
+        this.function = function;
+    }
+
+    @Override
+    protected boolean calculate(boolean initialized) {
+        var previous = cache;
+        cache = function.getAsInt();
+        return !initialized || !(previous == cache);
+    }
+
+    @Override
+    protected Object cachedValue() {
+        return cache;
+    }
+
+    @Override
+    public int getAsInt() {
+        onRead();
+        return getAsIntUntracked();
+    }
+
+    @Override
+    public int getAsIntUntracked() {
+        updateIfNecessary();
+        return cache;
+    }
+}
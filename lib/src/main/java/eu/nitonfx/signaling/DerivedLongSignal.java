@@ -0,0 +1,55 @@
+package eu.nitonfx.signaling;
+
+import eu.nitonfx.signaling.api.LongSignalLike;
+import eu.nitonfx.signaling.api.SignalLike;
+
+import java.util.concurrent.locks.Lock;
+import java.util.function.LongSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A memoized computation producing a primitive {@code long} without boxing it, see {@link AbstractDerivedSignal}
+ */
+class DerivedLongSignal extends AbstractDerivedSignal<Long> implements LongSignalLike {
+    private final LongSupplier function;
+
+    private volatile long cache;
+
+    DerivedLongSignal(
+            StackTraceElement origin,
+            LongSupplier function,
+            Consumer<SignalLike<Long>> onReadListener,
+            Function<Runnable, EffectCapture> captureFunction,
+            Consumer<Runnable> changeCallback,
+            Lock writeLock,
+            LongSupplier writeEpoch
+    ) {
+        super(origin, onReadListener, captureFunction, changeCallback, writeLock, writeEpoch);
+        this.function = function;
+    }
+
+    @Override
+    protected boolean calculate(boolean initialized) {
+        var previous = cache;
+        cache = function.getAsLong();
+        return !initialized || !(previous == cache);
+    }
+
+    @Override
+    protected Object cachedValue() {
+        return cache;
+    }
+
+    @Override
+    public long getAsLong() {
+        onRead();
+        return getAsLongUntracked();
+    }
+
+    @Override
+    public long getAsLongUntracked() {
+        updateIfNecessary();
+        return cache;
+    }
+}
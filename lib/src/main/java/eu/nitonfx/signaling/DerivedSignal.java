@@ -1,112 +1,59 @@
 package eu.nitonfx.signaling;
 
 import eu.nitonfx.signaling.api.SignalLike;
-import eu.nitonfx.signaling.api.Subscription;
 
-import java.util.HashSet;
-import java.util.Objects;
-import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.function.BiPredicate;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
+import java.util.function.LongSupplier;
 
-public class DerivedSignal<T> implements SignalLike<T> {
+/**
+ * A memoized computation based on other signals, see {@link AbstractDerivedSignal} for how invalidation works.
+ */
+public class DerivedSignal<T> extends AbstractDerivedSignal<T> {
     private final Supplier<T> function;
-    private final Consumer<SignalLike<T>> onReadListener;
-    private final Function<Runnable, EffectCapture> captureFunction;
-    private final StackTraceElement origin;
-    private final Set<Consumer<SignalLike<T>>> onDirtyEffects = new HashSet<>();
-    private final Consumer<Supplier<Set<Runnable>>> changeCallback;
-    private final Set<Consumer<SignalLike<T>>> onDirtyPropagators = new HashSet<>();
-    private final Set<Dependency<?>> dirtyDependencies = new HashSet<>();
+    private final BiPredicate<T, T> equals;
 
-    private Set<Subscription> subscriptions = Set.of();
-    private boolean initialized = false;
-    private T cache;
+    private volatile T cache;
 
     public DerivedSignal(
             StackTraceElement origin,
             Supplier<T> function,
             Consumer<SignalLike<T>> onReadListener,
             Function<Runnable, EffectCapture> captureFunction,
-            Consumer<Supplier<Set<Runnable>>> changeCallback
+            Consumer<Runnable> changeCallback,
+            Lock writeLock,
+            LongSupplier writeEpoch,
+            BiPredicate<T, T> equals
     ) {
+        super(origin, onReadListener, captureFunction, changeCallback, writeLock, writeEpoch);
         this.function = function;
-        this.onReadListener = onReadListener;
-        this.captureFunction = captureFunction;
-        this.origin = origin;
-        this.changeCallback = changeCallback;
+        this.equals = equals;
     }
 
     @Override
-    public T get() {
-        onReadListener.accept(this);
-        return getUntracked();
-    }
-
-    private void markDirty(Dependency<?> known) {
-        var wasDirty = !dirtyDependencies.isEmpty();
-        dirtyDependencies.add(known);
-        if (!wasDirty) {
-            onDirtyPropagators.forEach(c -> c.accept(this));
-        }
+    protected boolean calculate(boolean initialized) {
+        var previous = cache;
+        cache = function.get();
+        return !initialized || !equals.test(previous, cache);
     }
 
     @Override
-    public T getUntracked() {
-        if (!initialized) recalculate();
-        else if (isDirty() && dirtyDependencies.stream().anyMatch(Dependency::isChanged)) recalculate();
-        else dirtyDependencies.clear();
-
+    protected Object cachedValue() {
         return cache;
     }
 
-    private void recalculate() {
-        subscriptions.forEach(Subscription::unsubscribe);
-        dirtyDependencies.clear();
-        var capture = captureFunction.apply(() -> cache = function.get());
-        initialized = true;
-        subscriptions = capture.dependencies().stream()
-                .<Subscription>mapMulti((dep, next) -> {
-                    next.accept(dep.signal().propagateDirty((__) -> markDirty(dep)));
-                    next.accept(dep.signal().onDirtyEffect((__) -> queueDependeants(dep)));
-                })
-                .collect(Collectors.toSet());
-        if (!capture.cleanup().isEmpty())
-            throw new UnsupportedOperationException("cleanup not allowed in derived signal (%s): %s".formatted(this, capture.cleanup()));
-        if (!capture.deferredEffects().isEmpty())
-            throw new UnsupportedOperationException("side effects in derived signal (%s): %s".formatted(this, capture.deferredEffects()));
-        if (!capture.nestedEffects().isEmpty())
-            throw new UnsupportedOperationException("side effects in derived signal (%s): %s".formatted(this, capture.nestedEffects()));
-    }
-
-    private void queueDependeants(Dependency<?> dep) {
-        changeCallback.accept(() -> onDirtyEffects.stream().map(
-                c -> (Runnable) () -> c.accept(this)
-        ).collect(Collectors.toSet()));
-    }
-
-    private boolean isDirty() {
-        return !dirtyDependencies.isEmpty();
-    }
-
-    @Override
-    public Subscription onDirtyEffect(Consumer<SignalLike<T>> effect) {
-        this.onDirtyEffects.add(effect);
-        return () -> onDirtyEffects.remove(effect);
-    }
-
     @Override
-    public Subscription propagateDirty(Consumer<SignalLike<T>> propagate) {
-        this.onDirtyPropagators.add(propagate);
-        return () -> onDirtyPropagators.remove(propagate);
+    public T get() {
+        onRead();
+        return getUntracked();
     }
 
     @Override
-    public String toString() {
-        return "DerivedSignal { value = %s, clean = %s } %s".formatted(
-                cache, !isDirty(), origin
-        );
+    public T getUntracked() {
+        updateIfNecessary();
+        return cache;
     }
 }
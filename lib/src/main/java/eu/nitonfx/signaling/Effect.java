@@ -3,7 +3,9 @@ package eu.nitonfx.signaling;
 import eu.nitonfx.signaling.api.SignalLike;
 import eu.nitonfx.signaling.api.Subscription;
 import eu.nitonfx.signaling.api.EffectHandle;
+import org.jetbrains.annotations.Nullable;
 
+import java.lang.ref.WeakReference;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -11,18 +13,28 @@ import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-public class Effect implements Runnable, EffectHandle {
+public class Effect implements Runnable, EffectHandle, Ranked {
     private final Runnable effect;
     private final Function<Runnable, EffectCapture> capturingExecutor;
     private final Consumer<Effect> effectExecutor;
     private final Consumer<EffectHandle> postExecuteHook;
+    private final boolean weak;
     private Set<? extends Subscription> subscriptions = new HashSet<>();
     private Set<Dependency<?>> dependencies = Set.of();
     private List<? extends EffectHandle> nestedEffects = List.of();
     private Predicate<SignalLike<?>> dependencyFilter = (e) -> true;
     private Set<Runnable> cleanup = new HashSet<>();
+    @Nullable
     private final StackTraceElement trace;
     private String name = null;
+    private int height = 1;
+    private int minHeight = 1;
+    private long queuedAt = -1;
+    private boolean cancelled = false;
+    /**
+     * true while the effect function runs, the subscriptions of the previous run are still active but have to be ignored
+     */
+    private boolean capturing = false;
 
     @Override
     public String formatAsTree() {
@@ -38,46 +50,103 @@ public class Effect implements Runnable, EffectHandle {
 
     @Override
     public String toString() {
-        return name != null ? "Effect(%s)".formatted(name) : "Effect from: "+trace.toString();
+        if (name != null) return "Effect(%s)".formatted(name);
+        return trace != null ? "Effect from: "+trace : "Effect";
     }
 
-    public Effect(Runnable effect, Function<Runnable, EffectCapture> capturingExecutor, Consumer<Effect> effectExecutor, Consumer<EffectHandle> postExecuteHook) {
+    /**
+     * @param effectExecutor called when a dependency of this effect changed, responsible for (re-)running the effect
+     * @param trace          where the effect was created, null if unknown
+     * @param weak           true if the signals this effect depends on should only reference it weakly
+     */
+    public Effect(Runnable effect, Function<Runnable, EffectCapture> capturingExecutor, Consumer<Effect> effectExecutor, Consumer<EffectHandle> postExecuteHook, @Nullable StackTraceElement trace, boolean weak) {
         this.effect = effect;
         this.capturingExecutor = capturingExecutor;
         this.effectExecutor = effectExecutor;
         this.postExecuteHook = postExecuteHook;
-        this.trace = Thread.currentThread().getStackTrace()[3];
+        this.trace = trace;
+        this.weak = weak;
     }
 
+    /**
+     * Runs the effect and subscribes to the signals it read, does nothing once the effect is {@link #cancel() cancelled}
+     */
     @Override
     public void run() {
+        if (cancelled) return;
+        //the previous subscriptions are released after subscribing again, this keeps memos that are still read attached
+        var previousSubscriptions = subscriptions;
+        subscriptions = Collections.emptySet();
         unsubscribe();
-        var capture = capturingExecutor.apply(effect);
+        EffectCapture capture;
+        capturing = true;
+        try {
+            capture = capturingExecutor.apply(effect);
+        } catch (RuntimeException | Error e) {
+            previousSubscriptions.forEach(Subscription::unsubscribe);
+            throw e;
+        } finally {
+            capturing = false;
+        }
         cleanup = capture.cleanup();
         this.dependencies = capture.dependencies().stream()
                 .filter(dep -> dependencyFilter.test(dep.signal()))
                 .collect(Collectors.toSet());
+        height = Math.max(minHeight, 1 + dependencies.stream().mapToInt(dep -> Ranked.heightOf(dep.signal())).max().orElse(0));
         var dependencySignals = dependencies.stream().map(Dependency::signal).toList();
         subscriptions = dependencies.stream()
-                .map(dependency -> dependency.signal().onDirtyEffect((__)->runIfDependencyChanged(dependency)))
+                .map(dependency -> weak ? WeakObserver.subscribe(this, dependency) : dependency.signal().onDirtyEffect((__)->runIfDependencyChanged(dependency)))
                 .collect(Collectors.toSet());
+        previousSubscriptions.forEach(Subscription::unsubscribe);
         var nestedEffectHandles = capture.nestedEffects();
         var nestedEffects = nestedEffectHandles.stream()
                 .filter(Effect.class::isInstance)
                 .map(Effect.class::cast)
                 .toList();
         final var filterForNestedEffects = dependencyFilter.and(Predicate.not(dep -> dependencySignals.stream().anyMatch(inner -> inner == dep)));
-        nestedEffects.forEach(nested -> nested.dependencyFilter = filterForNestedEffects);
+        nestedEffects.forEach(nested -> {
+            nested.dependencyFilter = filterForNestedEffects;
+            //a nested effect is re-created when the parent re-runs, so the parent always has to run first
+            nested.minHeight = height + 1;
+        });
 
         //If the effect caused writes to signals, the effects attached to this signals are not run immediately, but deferred to the end of the current effect
         //This is the deferred execution of this effects
-        Stream.concat(nestedEffects.stream(),capture.flatDeferredEffects()).forEach(Runnable::run);
+        Stream.concat(nestedEffects.stream(),capture.deferredEffects().stream()).forEach(Runnable::run);
         this.nestedEffects = nestedEffectHandles;
         postExecuteHook.accept(this);
     }
 
     private <T> void runIfDependencyChanged(Dependency<T> dependency) {
-        if(dependency.isChanged()) effectExecutor.accept(this);
+        if(!capturing && dependency.isChanged()) effectExecutor.accept(this);
+    }
+
+    /**
+     * Observes a dependency without keeping the effect alive.
+     * Once the effect is garbage collected the subscription is removed on the next notification
+     */
+    private static final class WeakObserver<T> implements Consumer<SignalLike<T>> {
+        private final WeakReference<Effect> effect;
+        private final Dependency<T> dependency;
+        private Subscription subscription;
+
+        private WeakObserver(Effect effect, Dependency<T> dependency) {
+            this.effect = new WeakReference<>(effect);
+            this.dependency = dependency;
+        }
+
+        static <T> Subscription subscribe(Effect effect, Dependency<T> dependency) {
+            var observer = new WeakObserver<>(effect, dependency);
+            observer.subscription = dependency.signal().onDirtyEffect(observer);
+            return observer.subscription;
+        }
+
+        @Override
+        public void accept(SignalLike<T> signal) {
+            var target = effect.get();
+            if (target == null) subscription.unsubscribe();
+            else target.runIfDependencyChanged(dependency);
+        }
     }
 
     public void unsubscribe() {
@@ -96,9 +165,30 @@ public class Effect implements Runnable, EffectHandle {
 
     @Override
     public void cancel() {
+        cancelled = true;
         unsubscribe();
     }
 
+    @Override
+    public int height() {
+        return height;
+    }
+
+    /**
+     * @return the order in which the effect was queued for execution or -1 if it isn't queued
+     */
+    long queuedAt() {
+        return queuedAt;
+    }
+
+    void queuedAt(long queuedAt) {
+        this.queuedAt = queuedAt;
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
     @Override
     public void name(String name) {
         this.name = name;
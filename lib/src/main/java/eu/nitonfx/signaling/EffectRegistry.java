@@ -0,0 +1,65 @@
+package eu.nitonfx.signaling;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of the effects that are alive, without keeping them alive, to find out where leaking effects are created
+ */
+final class EffectRegistry {
+    private final Set<Entry> live = ConcurrentHashMap.newKeySet();
+    private final ReferenceQueue<Effect> collected = new ReferenceQueue<>();
+
+    /**
+     * @param site where the effect was created, null if unknown
+     */
+    void register(Effect effect, @Nullable StackTraceElement site) {
+        purgeCollected();
+        live.add(new Entry(effect, site, collected));
+    }
+
+    /**
+     * @return the number of effects that are neither cancelled nor garbage collected per creation site, the most frequent site first
+     */
+    Map<String, Integer> countBySite() {
+        purgeCollected();
+        var counts = new HashMap<String, Integer>();
+        for (var iterator = live.iterator(); iterator.hasNext(); ) {
+            var entry = iterator.next();
+            var effect = entry.get();
+            if (effect == null || effect.isCancelled()) iterator.remove();
+            else counts.merge(entry.site != null ? entry.site.toString() : "unknown", 1, Integer::sum);
+        }
+        var report = new LinkedHashMap<String, Integer>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+                .forEach(count -> report.put(count.getKey(), count.getValue()));
+        return report;
+    }
+
+    private void purgeCollected() {
+        Reference<? extends Effect> reference;
+        while ((reference = collected.poll()) != null) {
+            live.remove(reference);
+        }
+    }
+
+    private static final class Entry extends WeakReference<Effect> {
+        @Nullable
+        private final StackTraceElement site;
+
+        private Entry(Effect effect, @Nullable StackTraceElement site, ReferenceQueue<Effect> queue) {
+            super(effect, queue);
+            this.site = site;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package eu.nitonfx.signaling;
+
+import eu.nitonfx.signaling.api.EffectHandle;
+import eu.nitonfx.signaling.api.Selector;
+import eu.nitonfx.signaling.api.SignalLike;
+
+import java.util.Objects;
+
+/**
+ * Tests if a key is the one selected by the source, a reader only depends on the key it tested.
+ * When the selection changes from A to B only the readers of A and B are notified, no matter how many keys are tested.
+ * Tests answer with the selection the readers were last notified about, so within a batch they still see the previous selection.
+ *
+ * @param <K> the type of the keys
+ */
+final class KeySelector<K> implements Selector<K> {
+    private final SignalLike<K> source;
+    private final KeyedSignals<K> selection;
+    private volatile K selected;
+    /**
+     * follows the source, nested in the effect the selector was created in
+     */
+    private final EffectHandle following;
+
+    KeySelector(SetStackContext context, SignalLike<K> source) {
+        this.source = source;
+        this.selection = new KeyedSignals<>(context);
+        this.selected = source.getUntracked();
+        this.following = context.createInternalEffect(this::onSourceChanged);
+    }
+
+    private void onSourceChanged() {
+        var next = source.get();
+        var previous = selected;
+        if (Objects.equals(previous, next)) return;
+        selected = next;
+        selection.changed(previous);
+        selection.changed(next);
+    }
+
+    @Override
+    public boolean test(K key) {
+        selection.track(key);
+        return Objects.equals(key, selected);
+    }
+
+    @Override
+    public void cancel() {
+        following.cancel();
+    }
+}
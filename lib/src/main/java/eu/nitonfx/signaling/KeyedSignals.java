@@ -0,0 +1,123 @@
+package eu.nitonfx.signaling;
+
+import eu.nitonfx.signaling.api.Context;
+import eu.nitonfx.signaling.api.LongSignal;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Signals that are created per key when an effect or memo reads the key, and released once nothing observes them anymore.
+ * Collections use them to track single keys, so a change of one key only notifies the readers of that key.
+ * <p>
+ * Signals are only released while no effect or memo is running on the releasing thread and under the write lock of the context,
+ * effects and memos read and subscribe while holding that lock, so a released signal was not read by one that did not subscribe yet.
+ * Released signals are marked as changed, so memos that are not subscribed but still depend on them re-read the key.
+ * </p>
+ * Other implementations of {@link Context} can not release signals, so all keys share one signal there.
+ *
+ * @param <K> the type of the keys
+ */
+public final class KeyedSignals<K> {
+    private static final Object NULL_KEY = new Object();
+    private static final int MIN_SWEEP_SIZE = 16;
+    @Nullable
+    private final SetStackContext context;
+    /**
+     * Notifies the readers of any key, used instead of signals per key if the context is not a {@link SetStackContext}
+     */
+    @Nullable
+    private final LongSignal shared;
+    private final Map<Object, MutableLongSignal> signals = new ConcurrentHashMap<>();
+    /**
+     * Signals that were read but never subscribed to are released by a sweep once the map grows beyond this size
+     */
+    private volatile int sweepAt = MIN_SWEEP_SIZE;
+
+    KeyedSignals(SetStackContext context) {
+        this.context = context;
+        this.shared = null;
+    }
+
+    private KeyedSignals(LongSignal shared) {
+        this.context = null;
+        this.shared = shared;
+    }
+
+    /**
+     * Creates signals per key for a collection that belongs to the given context
+     */
+    public static <K> KeyedSignals<K> of(Context context) {
+        if (context instanceof SetStackContext cx) return new KeyedSignals<>(cx);
+        return new KeyedSignals<>(context.createLongSignal(0));
+    }
+
+    /**
+     * Makes the running effect or memo depend on the key, does nothing if reads are not tracked.
+     * Takes any object like {@link java.util.Collection#contains(Object)}, keys of another type are never changed.
+     */
+    public void track(Object key) {
+        if (shared != null) {
+            shared.getAsLong();
+            return;
+        }
+        if (!context.isTracking()) return;
+        var mapKey = key == null ? NULL_KEY : key;
+        var signal = signals.get(mapKey);
+        if (signal == null) signal = signals.computeIfAbsent(mapKey, this::create);
+        signal.getAsLong();
+    }
+
+    /**
+     * Notifies the effects and memos that depend on the key
+     */
+    public void changed(K key) {
+        if (shared != null) {
+            shared.set(shared.getAsLongUntracked() + 1);
+            return;
+        }
+        var signal = signals.get(key == null ? NULL_KEY : key);
+        if (signal != null) signal.set(signal.getAsLongUntracked() + 1);
+        if (signals.size() >= sweepAt && context.isIdle()) sweep();
+    }
+
+    /**
+     * @return true if an effect or memo depends on the key
+     */
+    public boolean isTracked(Object key) {
+        return signals.containsKey(key == null ? NULL_KEY : key);
+    }
+
+    private MutableLongSignal create(Object key) {
+        var signal = new MutableLongSignal[1];
+        signal[0] = context.createKeySignal(() -> {
+            if (context.isIdle()) release(key, signal[0]);
+        });
+        return signal[0];
+    }
+
+    /**
+     * Re-checks under the lock that the signal is still unobserved, another thread might have subscribed to it since
+     */
+    private void release(Object key, MutableLongSignal signal) {
+        var lock = context.writeLock();
+        lock.lock();
+        try {
+            if (!signal.isObserved() && signals.remove(key, signal)) signal.set(signal.getAsLongUntracked() + 1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void sweep() {
+        var lock = context.writeLock();
+        lock.lock();
+        try {
+            signals.forEach(this::release);
+            sweepAt = Math.max(MIN_SWEEP_SIZE, signals.size() * 2);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package eu.nitonfx.signaling;
+
+import eu.nitonfx.signaling.api.EffectScheduler;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.function.Supplier;
+
+/**
+ * Runs flushes on the current thread at the end of the outermost operation: flushes scheduled while a flush, batch or
+ * untracked block runs on the thread are queued and run once it completed, see {@link EffectScheduler#microtask()}
+ */
+public final class MicrotaskScheduler implements EffectScheduler {
+    public static final MicrotaskScheduler INSTANCE = new MicrotaskScheduler();
+
+    private final ThreadLocal<Operation> operation = ThreadLocal.withInitial(Operation::new);
+
+    /**
+     * The operations running on a thread and the flushes queued until the outermost one completes
+     */
+    private static final class Operation {
+        private int depth = 0;
+        private final ArrayDeque<Runnable> flushes = new ArrayDeque<>();
+    }
+
+    private MicrotaskScheduler() {
+    }
+
+    @Override
+    public void schedule(@NotNull Runnable flush) {
+        var current = operation.get();
+        current.flushes.add(flush);
+        if (current.depth == 0) drain(current);
+    }
+
+    /**
+     * Runs an operation, flushes that are scheduled during it are deferred until the outermost operation of the thread completed
+     */
+    <T> T run(Supplier<T> body) {
+        var current = operation.get();
+        current.depth++;
+        try {
+            return body.get();
+        } finally {
+            if (--current.depth == 0) drain(current);
+        }
+    }
+
+    /**
+     * Runs the queued flushes, including the ones scheduled while draining. A flush that throws does not keep the others from running,
+     * the first exception is rethrown once the queue is empty
+     */
+    private static void drain(Operation current) {
+        Throwable failure = null;
+        current.depth++;
+        try {
+            Runnable next;
+            while ((next = current.flushes.poll()) != null) {
+                try {
+                    next.run();
+                } catch (RuntimeException | Error e) {
+                    if (failure == null) failure = e;
+                    else failure.addSuppressed(e);
+                }
+            }
+        } finally {
+            current.depth--;
+        }
+        if (failure instanceof Error error) throw error;
+        if (failure != null) throw (RuntimeException) failure;
+    }
+}
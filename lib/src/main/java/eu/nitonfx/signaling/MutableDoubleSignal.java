@@ -0,0 +1,48 @@
+package eu.nitonfx.signaling;
+
+import eu.nitonfx.signaling.api.DoubleSignal;
+import eu.nitonfx.signaling.api.SignalLike;
+
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+
+/**
+ * A signal that holds a primitive {@code double} without boxing it
+ */
+class MutableDoubleSignal extends AbstractMutableSignal<Double> implements DoubleSignal {
+    private volatile double value;
+
+    /**
+     * @param readCallback  a function called when the signal is reactively read, param1: the thing that current effects need to subsribe to
+     * @param writeCallback a function called when the signal is written to, the parameter notifies the effects of the signal when run
+     * @param writeLock     held while the signal is written, so writes from multiple threads are linearisable
+     * @param value         the initial value of the signal
+     */
+    MutableDoubleSignal(Consumer<SignalLike<Double>> readCallback, Consumer<Runnable> writeCallback, Lock writeLock, double value) {
+        super(readCallback, writeCallback, writeLock);
+        this.value = value;
+    }
+
+    @Override
+    public void set(double i) {
+        writeLock.lock();
+        try {
+            if (Double.doubleToLongBits(value) == Double.doubleToLongBits(i)) return;
+            value = i;
+            onChanged();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public double getAsDouble() {
+        onRead();
+        return value;
+    }
+
+    @Override
+    public double getAsDoubleUntracked() {
+        return value;
+    }
+}
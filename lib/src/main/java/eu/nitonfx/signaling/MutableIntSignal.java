@@ -0,0 +1,48 @@
+package eu.nitonfx.signaling;
+
+import eu.nitonfx.signaling.api.IntSignal;
+import eu.nitonfx.signaling.api.SignalLike;
+
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+
+/**
+ * A signal that holds a primitive {@code int} without boxing it
+ */
+class MutableIntSignal extends AbstractMutableSignal<Integer> implements IntSignal {
+    private volatile int value;
+
+    /**
+     * @param readCallback  a function called when the signal is reactively read, param1: the thing that current effects need to subsribe to
+     * @param writeCallback a function called when the signal is written to, the parameter notifies the effects of the signal when run
+     * @param writeLock     held while the signal is written, so writes from multiple threads are linearisable
+     * @param value         the initial value of the signal
+     */
+    MutableIntSignal(Consumer<SignalLike<Integer>> readCallback, Consumer<Runnable> writeCallback, Lock writeLock, int value) {
+        super(readCallback, writeCallback, writeLock);
+        this.value = value;
+    }
+
+    @Override
+    public void set(int i) {
+        writeLock.lock();
+        try {
+            if (value == i) return;
+            value = i;
+            onChanged();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public int getAsInt() {
+        onRead();
+        return value;
+    }
+
+    @Override
+    public int getAsIntUntracked() {
+        return value;
+    }
+}
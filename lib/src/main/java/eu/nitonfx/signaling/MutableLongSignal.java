@@ -0,0 +1,56 @@
+package eu.nitonfx.signaling;
+
+import eu.nitonfx.signaling.api.LongSignal;
+import eu.nitonfx.signaling.api.SignalLike;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+
+/**
+ * A signal that holds a primitive {@code long} without boxing it
+ */
+class MutableLongSignal extends AbstractMutableSignal<Long> implements LongSignal {
+    private volatile long value;
+
+    /**
+     * @param readCallback  a function called when the signal is reactively read, param1: the thing that current effects need to subsribe to
+     * @param writeCallback a function called when the signal is written to, the parameter notifies the effects of the signal when run
+     * @param writeLock     held while the signal is written, so writes from multiple threads are linearisable
+     * @param value         the initial value of the signal
+     */
+    MutableLongSignal(Consumer<SignalLike<Long>> readCallback, Consumer<Runnable> writeCallback, Lock writeLock, long value) {
+        this(readCallback, writeCallback, writeLock, value, null);
+    }
+
+    /**
+     * @param onUnobserved called when the last effect or memo unsubscribed from this signal
+     */
+    MutableLongSignal(Consumer<SignalLike<Long>> readCallback, Consumer<Runnable> writeCallback, Lock writeLock, long value, @Nullable Runnable onUnobserved) {
+        super(readCallback, writeCallback, writeLock, onUnobserved);
+        this.value = value;
+    }
+
+    @Override
+    public void set(long i) {
+        writeLock.lock();
+        try {
+            if (value == i) return;
+            value = i;
+            onChanged();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public long getAsLong() {
+        onRead();
+        return value;
+    }
+
+    @Override
+    public long getAsLongUntracked() {
+        return value;
+    }
+}
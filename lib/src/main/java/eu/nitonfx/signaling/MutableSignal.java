@@ -1,84 +1,54 @@
 package eu.nitonfx.signaling;
 
 import eu.nitonfx.signaling.api.SignalLike;
-import eu.nitonfx.signaling.api.Subscription;
-import eu.nitonfx.signaling.api.Signal;
 
-import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.function.BiPredicate;
 import java.util.function.Consumer;
-import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 /**
  * A signal that holds a value that can be changed/updated
  *
  * @param <T>
  */
-class MutableSignal<T> implements Signal<T> {
-    private final List<Consumer<SignalLike<T>>> effects = new LinkedList<>();
-    private final List<Consumer<SignalLike<T>>> instantObservers = new LinkedList<>();
+class MutableSignal<T> extends AbstractMutableSignal<T> {
+    private final BiPredicate<T, T> equals;
 
-    private final Consumer<Supplier<Set<Runnable>>> writeCallback;
-    private final Consumer<SignalLike<T>> readCallback;
-
-    private String name;
-    private T value;
+    private volatile T value;
 
     /**
      * @param readCallback  a function called when the signal is reactively read, param1: the thing that current effects need to subsribe to
-     * @param writeCallback a function called when the signal is written to, the first parameter is the list of actions to be invoked as a result
+     * @param writeCallback a function called when the signal is written to, the parameter notifies the effects of the signal when run
+     * @param writeLock     held while the signal is written, so writes from multiple threads are linearisable
      * @param value         the initial value of the signal
+     * @param equals        decides if a written value (param2) is the same as the current value (param1) and can be ignored
      */
-    MutableSignal(Consumer<SignalLike<T>> readCallback, Consumer<Supplier<Set<Runnable>>> writeCallback, T value) {
-        this.readCallback = readCallback;
-        this.writeCallback = writeCallback;
+    MutableSignal(Consumer<SignalLike<T>> readCallback, Consumer<Runnable> writeCallback, Lock writeLock, T value, BiPredicate<T, T> equals) {
+        super(readCallback, writeCallback, writeLock);
         this.value = value;
+        this.equals = equals;
     }
 
     @Override
     public void set(T i) {
-        if (Objects.equals(i, value)) return;
-        value = i;
-        instantObservers.forEach(observer -> observer.accept(this));
-        writeCallback.accept(() -> effects.stream()
-                .map(it -> (Runnable) () -> it.accept(this))
-                .collect(Collectors.toSet())
-        );
+        writeLock.lock();
+        try {
+            if (equals.test(value, i)) return;
+            value = i;
+            onChanged();
+        } finally {
+            writeLock.unlock();
+        }
     }
 
     @Override
     public T get() {
-        readCallback.accept(this);
+        onRead();
         return value;
     }
 
-    @Override
-    public String toString() {
-        return "MutableSignal(" + name + ")";
-    }
-
     @Override
     public T getUntracked() {
         return value;
     }
-
-    @Override
-    public Subscription onDirtyEffect(Consumer<SignalLike<T>> consumer) {
-        this.effects.add(consumer);
-        return () -> effects.remove(consumer);
-    }
-
-    @Override
-    public Subscription propagateDirty(Consumer<SignalLike<T>> consumer) {
-        this.instantObservers.add(consumer);
-        return () -> instantObservers.remove(consumer);
-    }
-
-    public String getName() {
-        return name;
-    }
-
-    public void setName(String name) {
-        this.name = name;
-    }
 }
@@ -0,0 +1,81 @@
+package eu.nitonfx.signaling;
+
+import eu.nitonfx.signaling.api.Context;
+import eu.nitonfx.signaling.api.Mailbox;
+import eu.nitonfx.signaling.api.Signal;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A mailbox backed by a lock-free multi-producer queue, drained by the owner of the context.
+ * <p>
+ * In latest-wins mode only the signals are queued (once) and the newest posted value is kept per signal,
+ * so a signal written faster than the owner can drain is only written once per drain.
+ * </p>
+ */
+final class QueuedMailbox implements Mailbox {
+    private final Context context;
+    private final Executor owner;
+    private final boolean latestWins;
+    /**
+     * The pending writes in posting order, in latest-wins mode the {@link Write} only holds the signal
+     */
+    private final Queue<Write<?>> queue = new ConcurrentLinkedQueue<>();
+    /**
+     * The newest value per signal, only used in latest-wins mode
+     */
+    private final Map<Signal<?>, Write<?>> latest;
+    private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+
+    /**
+     * @param owner      executes tasks on the thread that owns the context
+     * @param latestWins true if only the newest value posted to a signal should be written
+     */
+    QueuedMailbox(Context context, Executor owner, boolean latestWins) {
+        this.context = context;
+        this.owner = owner;
+        this.latestWins = latestWins;
+        this.latest = latestWins ? new ConcurrentHashMap<>() : Map.of();
+    }
+
+    @Override
+    public <T> void post(@NotNull Signal<T> signal, T value) {
+        var write = new Write<>(signal, value);
+        if (!latestWins) queue.offer(write);
+        else if (latest.put(signal, write) == null) queue.offer(write);
+        if (drainScheduled.compareAndSet(false, true)) owner.execute(this::scheduledDrain);
+    }
+
+    private void scheduledDrain() {
+        //reset before draining, so writes posted while draining schedule another drain
+        drainScheduled.set(false);
+        drain();
+    }
+
+    @Override
+    public int drain() {
+        if (queue.isEmpty()) return 0;
+        return context.batch(() -> {
+            int applied = 0;
+            Write<?> next;
+            while ((next = queue.poll()) != null) {
+                if (latestWins) next = latest.remove(next.signal());
+                next.apply();
+                applied++;
+            }
+            return applied;
+        });
+    }
+
+    private record Write<T>(Signal<T> signal, T value) {
+        void apply() {
+            signal.set(value);
+        }
+    }
+}
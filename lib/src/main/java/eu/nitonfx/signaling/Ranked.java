@@ -0,0 +1,16 @@
+package eu.nitonfx.signaling;
+
+/**
+ * A node of the reactive graph that knows its height, the longest distance to a plain (source) signal.
+ * Nodes with a lower height never depend on nodes with a higher height, which allows executing dirty effects in dependency order.
+ */
+interface Ranked {
+    int height();
+
+    /**
+     * @return the height of the node, nodes that are not {@link Ranked} are treated as sources
+     */
+    static int heightOf(Object node) {
+        return node instanceof Ranked ranked ? ranked.height() : 0;
+    }
+}
@@ -3,25 +3,115 @@ package eu.nitonfx.signaling;
 import eu.nitonfx.signaling.api.*;
 import eu.nitonfx.signaling.collections.ArraySignalList;
 import eu.nitonfx.signaling.collections.HashSetSignal;
-import eu.nitonfx.signaling.collections.SetMapSignal;
+import eu.nitonfx.signaling.collections.HashMapSignal;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Lock;
+import java.util.function.BiPredicate;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+/**
+ * A context that tracks the running effects and memos in a stack of frames.
+ * It is confined to one thread at a time, use {@link ConcurrentContext} to read and write signals from multiple threads.
+ */
 public class SetStackContext implements Context {
-    private final Set<Dependency<?>> dependencies = new HashSet<>();
-    private final List<EffectHandle> nestedEffects = new ArrayList<>(3);
-    private final List<Supplier<Set<Runnable>>> deferredEffects = new ArrayList<>(8);
-    private final Set<Runnable> cleanup = new HashSet<>();
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+    private final FrameStack stack = new FrameStack();
+    private final Lock writeLock;
+    private final List<Runnable> batchedWrites = new ArrayList<>(8);
+    private int batchDepth = 0;
+    private final PriorityQueue<Effect> dirtyEffects = new PriorityQueue<>(
+            Comparator.comparingInt(Effect::height).thenComparingLong(Effect::queuedAt)
+    );
+    private long queueCounter = 0;
+    private boolean flushing = false;
+    /**
+     * Incremented on every write, lets detached memos skip verifying their sources when nothing was written since
+     */
+    private volatile long writeEpoch = 0;
+    private boolean flushScheduled = false;
+    private final Runnable flush = this::flush;
+    private final EffectScheduler effectScheduler;
+    /**
+     * The scheduler if it defers flushes to the end of the outermost operation, see {@link #operation(Supplier)}
+     */
+    @Nullable
+    private final MicrotaskScheduler microtasks;
+    private final Options.DebugMetadata debugMetadata;
+    private final boolean weakEffects;
+    /**
+     * null unless live effect tracking is turned on, registering every effect is not free
+     */
     @Nullable
-    private Runnable recording = null;
+    private final EffectRegistry liveEffects;
     private boolean debugEffects;
     @Nullable
-    private Consumer<EffectHandle> postEffectHook = null;
+    private volatile Consumer<EffectHandle> postEffectHook = null;
+
+    public SetStackContext() {
+        this(Options.defaults());
+    }
+
+    public SetStackContext(@NotNull Options options) {
+        this(options, NoopLock.INSTANCE);
+    }
+
+    /**
+     * @param writeLock held while signals are written, memos are updated and effects run
+     */
+    SetStackContext(@NotNull Options options, @NotNull Lock writeLock) {
+        this.debugMetadata = options.debugMetadata();
+        this.effectScheduler = options.effectScheduler();
+        this.microtasks = effectScheduler instanceof MicrotaskScheduler scheduler ? scheduler : null;
+        this.weakEffects = options.effectRetention() == Options.EffectRetention.WEAK;
+        this.liveEffects = options.trackLiveEffects() ? new EffectRegistry() : null;
+        this.writeLock = writeLock;
+    }
+
+    /**
+     * @return the frames of effects and memos running on the current thread
+     */
+    FrameStack stack() {
+        return stack;
+    }
+
+    /**
+     * @return true if reads on the current thread are tracked by an effect or memo
+     */
+    boolean isTracking() {
+        return stack().frame.recording != null;
+    }
+
+    /**
+     * @return true if no effect, memo or untracked function runs on the current thread
+     */
+    boolean isIdle() {
+        return stack().depth == 0;
+    }
+
+    Lock writeLock() {
+        return writeLock;
+    }
+
+    /**
+     * Creates a signal that only carries change notifications, it can be read in the effect it was created in
+     *
+     * @param onUnobserved called when the last effect or memo unsubscribed from the signal
+     */
+    MutableLongSignal createKeySignal(Runnable onUnobserved) {
+        return new MutableLongSignal((subscribable) -> onSignalRead(subscribable, null), this::onSignalWrite, writeLock, 0, onUnobserved);
+    }
 
     /**
      * @param <T> The type of the signal, may not be a specific implementation of a container (ArrayList, HashSet, etc.)
@@ -29,29 +119,167 @@ public class SetStackContext implements Context {
      */
     @Override
     public <T> Signal<T> createSignal(T initial) {
-        return createObjectSignal(initial);
+        return createObjectSignal(initial, Equality.objectEquals());
+    }
+
+    @Override
+    public <T> Signal<T> createSignal(T initial, @NotNull BiPredicate<T, T> equals) {
+        return createObjectSignal(initial, equals);
     }
 
-    private <T> Signal<T> createObjectSignal(T initial) {
+    private <T> Signal<T> createObjectSignal(T initial, BiPredicate<T, T> equals) {
         T container = switch (initial) {
             case null -> null;
             case List<?> list -> (T) createSignal(list);
             case Set<?> set -> (T) new HashSetSignal<>(this, set);
             default -> initial;
         };
-        var creationEffect = recording;
+        var creationEffect = stack().frame.recording;
         return new MutableSignal<>(
                 (subscribable) -> onSignalRead(subscribable, creationEffect),
                 this::onSignalWrite,
-                container
+                writeLock,
+                container,
+                equals
         );
     }
 
-    private void onSignalWrite(Supplier<Set<Runnable>> observers) {
-        if (recording != null) deferredEffects.add(observers);
-        else run(()-> {
-            for (Runnable runnable : observers.get()) {
-                runnable.run();
+    /**
+     * @param notifyObservers notifies the effects observing the written signal
+     */
+    private void onSignalWrite(Runnable notifyObservers) {
+        writeEpoch++;
+        var frame = stack().frame;
+        if (frame.recording != null) frame.deferredEffects.add(notifyObservers);
+        else if (batchDepth > 0) batchedWrites.add(notifyObservers);
+        else flushAfter(notifyObservers);
+    }
+
+    private long writeEpoch() {
+        return writeEpoch;
+    }
+
+    /**
+     * Runs the action and afterward schedules a flush of all effects that became dirty in the meantime.
+     * When a flush is already in progress the action is executed as part of the ongoing flush.
+     * Has to be called while holding the write lock.
+     */
+    private void flushAfter(Runnable action) {
+        if (flushing) {
+            action.run();
+            return;
+        }
+        flushing = true;
+        try {
+            action.run();
+        } finally {
+            flushing = false;
+        }
+        scheduleFlush();
+    }
+
+    /**
+     * Hands a flush to the {@link EffectScheduler} unless there is nothing to run or a flush is already scheduled
+     */
+    private void scheduleFlush() {
+        if (flushScheduled || dirtyEffects.isEmpty()) return;
+        flushScheduled = true;
+        effectScheduler.schedule(flush);
+    }
+
+    /**
+     * Executes all dirty effects, including the ones that become dirty while flushing.
+     * When an effect throws, the effects that are still queued are handed to the scheduler in a new flush before the exception is rethrown
+     */
+    private void flush() {
+        writeLock.lock();
+        try {
+            runDirtyEffects();
+        } catch (RuntimeException | Error e) {
+            try {
+                scheduleFlush();
+            } catch (RuntimeException | Error next) {
+                e.addSuppressed(next);
+            }
+            throw e;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void runDirtyEffects() {
+        flushing = true;
+        flushScheduled = false;
+        try {
+            Effect next;
+            while ((next = dirtyEffects.poll()) != null) {
+                next.queuedAt(-1);
+                if (!next.isCancelled()) next.run();
+            }
+        } finally {
+            flushing = false;
+        }
+    }
+
+    /**
+     * Queues an effect that has a changed dependency. Queued effects are executed once per flush,
+     * ordered by their height so an effect always runs after all dirty effects it (transitively) depends on.
+     */
+    private void scheduleEffect(Effect effect) {
+        if (effect.queuedAt() < 0) {
+            effect.queuedAt(queueCounter++);
+            dirtyEffects.add(effect);
+        }
+        if (!flushing) scheduleFlush();
+    }
+
+    /**
+     * Runs a batch, untracked block or root effect. With the {@link MicrotaskScheduler} the flushes scheduled during it
+     * (also by other contexts) run once the outermost operation on the thread completed
+     */
+    private <T> T operation(Supplier<T> body) {
+        return microtasks == null ? body.get() : microtasks.run(body);
+    }
+
+    @Override
+    public <T> T batch(@NotNull Supplier<T> function) {
+        return operation(() -> batchLocked(function));
+    }
+
+    private <T> T batchLocked(Supplier<T> function) {
+        writeLock.lock();
+        batchDepth++;
+        try {
+            return function.get();
+        } finally {
+            batchDepth--;
+            try {
+                if (batchDepth == 0) flushBatchedWrites();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void batch(@NotNull Runnable function) {
+        batch(() -> {
+            function.run();
+            return null;
+        });
+    }
+
+    /**
+     * Notifies the observers of all signals written during the batch within a single flush,
+     * this way effects that depend on multiple written signals are collected (and de-duplicated) before running.
+     */
+    private void flushBatchedWrites() {
+        if (batchedWrites.isEmpty()) return;
+        var writes = List.copyOf(batchedWrites);
+        batchedWrites.clear();
+        flushAfter(() -> {
+            for (var notifyObservers : writes) {
+                notifyObservers.run();
             }
         });
     }
@@ -60,22 +288,44 @@ public class SetStackContext implements Context {
      * @param creationEffect the effect that the signal was created in
      */
     private <T> void onSignalRead(SignalLike<T> subscribable, Runnable creationEffect) {
-        if (recording == null)
+        var frame = stack().frame;
+        if (frame.recording == null)
             return;
-        if(recording == creationEffect) {
+        if(frame.recording == creationEffect) {
             throw new UnsupportedOperationException("Reading a signal in the effect it was created in is a bug");
         }
-        //remove outdated signal dependencies
         //a signal can be read twice in an effect and with the value changing in between reads
-        //in such a case only the last read value counts
-        dependencies.removeIf(dep -> dep.signal() == subscribable);
-
-        dependencies.add(new Dependency<>(subscribable));
+        //in such a case only the last read value counts, so this replaces the outdated dependency
+        frame.dependencies.put(subscribable, new Dependency<>(subscribable));
     }
 
     @Override
     public <T> Signal<@Nullable T> createNullSignal() {
-        return createObjectSignal(null);
+        return createObjectSignal(null, Equality.objectEquals());
+    }
+
+    @Override
+    public IntSignal createIntSignal(int initial) {
+        var creationEffect = stack().frame.recording;
+        return new MutableIntSignal((subscribable) -> onSignalRead(subscribable, creationEffect), this::onSignalWrite, writeLock, initial);
+    }
+
+    @Override
+    public LongSignal createLongSignal(long initial) {
+        var creationEffect = stack().frame.recording;
+        return new MutableLongSignal((subscribable) -> onSignalRead(subscribable, creationEffect), this::onSignalWrite, writeLock, initial);
+    }
+
+    @Override
+    public DoubleSignal createDoubleSignal(double initial) {
+        var creationEffect = stack().frame.recording;
+        return new MutableDoubleSignal((subscribable) -> onSignalRead(subscribable, creationEffect), this::onSignalWrite, writeLock, initial);
+    }
+
+    @Override
+    public BooleanSignal createBooleanSignal(boolean initial) {
+        var creationEffect = stack().frame.recording;
+        return new MutableBooleanSignal((subscribable) -> onSignalRead(subscribable, creationEffect), this::onSignalWrite, writeLock, initial);
     }
 
     @Override
@@ -100,135 +350,205 @@ public class SetStackContext implements Context {
 
     @Override
     public <K, V> MapSignal<K, V> createSignal(Map<K, V> initial) {
-        return new SetMapSignal<>(this, initial, getParentStackElement());
+        return new HashMapSignal<>(this, initial, getParentStackElement());
     }
 
     @Override
     public <K, V> MapSignal<K, V> createMapSignal() {
-        return new SetMapSignal<>(this, getParentStackElement());
+        return new HashMapSignal<>(this, getParentStackElement());
     }
 
     @Override
     public <T> SignalLike<T> createMemo(@NotNull Supplier<T> function) {
-        var creationEffect = recording;
+        return createDerivedSignal(function, Equality.objectEquals(), getParentStackElement());
+    }
+
+    @Override
+    public <T> SignalLike<T> createMemo(@NotNull Supplier<T> function, @NotNull BiPredicate<T, T> equals) {
+        return createDerivedSignal(function, equals, getParentStackElement());
+    }
+
+    private <T> SignalLike<T> createDerivedSignal(Supplier<T> function, BiPredicate<T, T> equals, @Nullable StackTraceElement origin) {
+        var creationEffect = stack().frame.recording;
         return new DerivedSignal<>(
+                origin,
+                function,
+                (signal) -> this.onSignalRead(signal, creationEffect),
+                this::runAndCaptureInIsolation,
+                this::onSignalWrite,
+                writeLock,
+                this::writeEpoch,
+                equals
+        );
+    }
+
+    @Override
+    public IntSignalLike createIntMemo(@NotNull IntSupplier function) {
+        var creationEffect = stack().frame.recording;
+        return new DerivedIntSignal(
                 getParentStackElement(),
                 function,
                 (signal) -> this.onSignalRead(signal, creationEffect),
                 this::runAndCaptureInIsolation,
-                this::onSignalWrite
+                this::onSignalWrite,
+                writeLock,
+                this::writeEpoch
         );
     }
 
-    private EffectCapture runAndCaptureInIsolation(Runnable runnable) {
-        var disabledRecording = recording;
-        var disabledDependencies = new HashSet<>(dependencies);
-        var disabledNestedEffects = new ArrayList<>(nestedEffects);
-        var disabledDeferredSignalUpdates = new ArrayList<>(deferredEffects);
-        var disabledClanups = new HashSet<>(cleanup);
-
-        dependencies.clear();
-        nestedEffects.clear();
-        deferredEffects.clear();
-        cleanup.clear();
-
-        recording = runnable;
-        runnable.run();
-        recording = disabledRecording;
-        var isolatedRecording = new EffectCapture(
-                Set.copyOf(dependencies),
-                List.copyOf(nestedEffects),
-                List.copyOf(deferredEffects),
-                Set.copyOf(cleanup)
+    @Override
+    public LongSignalLike createLongMemo(@NotNull LongSupplier function) {
+        var creationEffect = stack().frame.recording;
+        return new DerivedLongSignal(
+                getParentStackElement(),
+                function,
+                (signal) -> this.onSignalRead(signal, creationEffect),
+                this::runAndCaptureInIsolation,
+                this::onSignalWrite,
+                writeLock,
+                this::writeEpoch
+        );
+    }
+
+    @Override
+    public DoubleSignalLike createDoubleMemo(@NotNull DoubleSupplier function) {
+        var creationEffect = stack().frame.recording;
+        return new DerivedDoubleSignal(
+                getParentStackElement(),
+                function,
+                (signal) -> this.onSignalRead(signal, creationEffect),
+                this::runAndCaptureInIsolation,
+                this::onSignalWrite,
+                writeLock,
+                this::writeEpoch
+        );
+    }
+
+    @Override
+    public BooleanSignalLike createBooleanMemo(@NotNull BooleanSupplier function) {
+        var creationEffect = stack().frame.recording;
+        return new DerivedBooleanSignal(
+                getParentStackElement(),
+                function,
+                (signal) -> this.onSignalRead(signal, creationEffect),
+                this::runAndCaptureInIsolation,
+                this::onSignalWrite,
+                writeLock,
+                this::writeEpoch
         );
+    }
+
+    @Override
+    public <K> Selector<K> createSelector(@NotNull SignalLike<K> source) {
+        return new KeySelector<>(this, source);
+    }
+
+    @Override
+    public <K, V> Resource<V> createResource(@NotNull Supplier<@Nullable K> source, @NotNull Function<K, CompletableFuture<V>> fetcher, @NotNull Executor owner) {
+        return new AsyncResource<>(this, source, fetcher, Thread::startVirtualThread, owner);
+    }
 
-        dependencies.clear();
-        nestedEffects.clear();
-        deferredEffects.clear();
-        cleanup.clear();
-        dependencies.addAll(disabledDependencies);
-        nestedEffects.addAll(disabledNestedEffects);
-        deferredEffects.addAll(disabledDeferredSignalUpdates);
-        cleanup.addAll(disabledClanups);
-        return isolatedRecording;
+    private EffectCapture runAndCaptureInIsolation(Runnable runnable) {
+        var stack = stack();
+        var frame = stack.enter(runnable);
+        try {
+            runnable.run();
+            return frame.capture();
+        } finally {
+            stack.exit();
+        }
     }
 
     @Override
     public <T> T untracked(@NotNull Supplier<T> function) {
-        var disabledRecording = recording;
-        var disabledDependencies = new HashSet<>(dependencies);
-        var disabledNestedEffects = new ArrayList<>(nestedEffects);
-        var disabledDeferredSignalUpdates = new ArrayList<>(deferredEffects);
-        var disabledClanups = new HashSet<>(cleanup);
-        recording = null;
-        T val = function.get();
-        recording = disabledRecording;
-        dependencies.clear();
-        nestedEffects.clear();
-        deferredEffects.clear();
-        cleanup.clear();
-        dependencies.addAll(disabledDependencies);
-        nestedEffects.addAll(disabledNestedEffects);
-        deferredEffects.addAll(disabledDeferredSignalUpdates);
-        cleanup.addAll(disabledClanups);
-        return val;
+        return operation(() -> untrackedInFrame(function));
+    }
+
+    private <T> T untrackedInFrame(Supplier<T> function) {
+        var stack = stack();
+        stack.enter(null);
+        try {
+            return function.get();
+        } finally {
+            stack.exit();
+        }
     }
 
+    /**
+     * Has to be called directly from the public method that creates the signal/memo/effect
+     *
+     * @return the location of the code that called the public method, null if debug metadata is turned off
+     */
+    @Nullable
     private StackTraceElement getParentStackElement() {
-        return Thread.currentThread().getStackTrace()[2];
+        return switch (debugMetadata) {
+            case OFF -> null;
+            case LAZY -> STACK_WALKER.walk(frames -> frames.skip(2).findFirst())
+                    .map(StackWalker.StackFrame::toStackTraceElement)
+                    .orElse(null);
+            case FULL -> {
+                var trace = Thread.currentThread().getStackTrace();
+                yield trace.length > 3 ? trace[3] : null;
+            }
+        };
     }
 
     @Override
-    public synchronized EffectHandle createEffect(Runnable effect) {
-        var effectWrapper = new Effect(effect, this::runAndCapture, this::runEffect, this::postEffect);
-        runEffect(effectWrapper);
-        return effectWrapper;
+    public EffectHandle createEffect(Runnable effect) {
+        return createEffect(effect, getParentStackElement(), weakEffects);
     }
 
-    private void postEffect(EffectHandle effect) {
-        if(this.postEffectHook != null) {
-            this.postEffectHook.accept(effect);
+    /**
+     * Creates an effect that the library needs for itself (e.g. to follow the source of a selector),
+     * it is always held strongly by its dependencies since the user has no reference to it that could keep it alive
+     */
+    EffectHandle createInternalEffect(Runnable effect) {
+        return createEffect(effect, getParentStackElement(), false);
+    }
+
+    private EffectHandle createEffect(Runnable effect, @Nullable StackTraceElement trace, boolean weak) {
+        var effectWrapper = new Effect(effect, this::runAndCaptureInIsolation, this::scheduleEffect, this::postEffect, trace, weak);
+        if (liveEffects != null) liveEffects.register(effectWrapper, trace);
+        var frame = stack().frame;
+        if (frame.recording != null) {
+            frame.nestedEffects.add(effectWrapper);
+            return effectWrapper;
         }
+        writeLock.lock();
+        try {
+            scheduleEffect(effectWrapper);
+        } finally {
+            writeLock.unlock();
+        }
+        return effectWrapper;
     }
 
-    private void runEffect(Effect effectWrapper) {
-        if (recording != null) nestedEffects.add(effectWrapper);
-        else effectWrapper.run();
+    private void postEffect(EffectHandle effect) {
+        var hook = this.postEffectHook;
+        if(hook != null) {
+            hook.accept(effect);
+        }
     }
 
     @Override
-    public synchronized void cleanup(Runnable func) {
-        if (recording == null)
+    public void cleanup(Runnable func) {
+        var frame = stack().frame;
+        if (frame.recording == null)
             throw new IllegalStateException("Cleanup was called outside of an effect!");
-        cleanup.add(func);
+        frame.cleanup.add(func);
     }
 
     @Override
-    public synchronized void untracked(Runnable effect) {
+    public void untracked(Runnable effect) {
        untracked(() -> {
            effect.run();
            return null;
        });
     }
 
-    private synchronized EffectCapture runAndCapture(Runnable effect) {
-        dependencies.clear();
-        nestedEffects.clear();
-        deferredEffects.clear();
-        cleanup.clear();
-        recording = effect;
-        effect.run();
-        recording = null;
-        return new EffectCapture(Set.copyOf(dependencies), List.copyOf(nestedEffects), List.copyOf(deferredEffects), Set.copyOf(cleanup));
-    }
-
     @Override
     public EffectHandle  run(Runnable effect) {
-        var capture = runAndCapture(effect);
-        capture.nestedEffects().forEach(eh -> {
-            if(eh instanceof Effect e) e.run();
-        });
-        capture.flatDeferredEffects().forEach(this::run);
+        var capture = operation(() -> runLocked(effect));
         return  EffectHandle.of("root", ()->{
             capture.nestedEffects().forEach(EffectHandle::cancel);
             capture.cleanup().forEach(Runnable::run);
@@ -237,11 +557,43 @@ public class SetStackContext implements Context {
                 .collect(Collectors.joining("\n")));
     }
 
+    private EffectCapture runLocked(Runnable effect) {
+        writeLock.lock();
+        try {
+            var capture = runAndCaptureInIsolation(effect);
+            flushAfter(() -> {
+                capture.nestedEffects().forEach(eh -> {
+                    if(eh instanceof Effect e) e.run();
+                });
+                capture.deferredEffects().forEach(Runnable::run);
+            });
+            return capture;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Mailbox createMailbox(@NotNull Executor owner) {
+        return new QueuedMailbox(this, owner, false);
+    }
+
+    @Override
+    public Mailbox createLatestWinsMailbox(@NotNull Executor owner) {
+        return new QueuedMailbox(this, owner, true);
+    }
+
     @Override
     public <T> ListSignal<T> createListSignal() {
         return new ArraySignalList<>(this, getParentStackElement());
     }
 
+    @Override
+    public Map<String, Integer> liveEffects() {
+        if (liveEffects == null) throw new IllegalStateException("Live effects are not tracked, create the context with Options.withLiveEffectTracking(true)");
+        return liveEffects.countBySite();
+    }
+
     @Override
     public void setPostEffectExecutionHook(Consumer<EffectHandle> hook) {
         this.postEffectHook = hook;
@@ -249,8 +601,58 @@ public class SetStackContext implements Context {
 
     @Override
     public void registerEffect(EffectHandle customEffect) {
-        if(nestedEffects.contains(customEffect)) return;
-        if(recording != null) nestedEffects.add(customEffect);
+        var frame = stack().frame;
+        if(frame.nestedEffects.contains(customEffect)) return;
+        if(frame.recording != null) frame.nestedEffects.add(customEffect);
         else throw new IllegalStateException("registerEffect is called outside of running effect");
     }
+
+    /**
+     * The frames of effects and memos that are currently running, {@code frames[0]} is the root frame that tracks nothing.
+     * Frames are reused, so entering and leaving a frame is O(1)
+     */
+    static final class FrameStack {
+        private Frame[] frames = {new Frame()};
+        private int depth = 0;
+        private Frame frame = frames[0];
+
+        private Frame enter(@Nullable Runnable recording) {
+            depth++;
+            if (depth == frames.length) frames = Arrays.copyOf(frames, depth * 2);
+            var next = frames[depth];
+            if (next == null) next = frames[depth] = new Frame();
+            next.recording = recording;
+            frame = next;
+            return next;
+        }
+
+        private void exit() {
+            frame.clear();
+            frame = frames[--depth];
+        }
+    }
+
+    /**
+     * The state tracked while running an effect or memo
+     */
+    private static final class Frame {
+        private final Map<SignalLike<?>, Dependency<?>> dependencies = new IdentityHashMap<>();
+        private final List<EffectHandle> nestedEffects = new ArrayList<>(3);
+        private final List<Runnable> deferredEffects = new ArrayList<>(8);
+        private final Set<Runnable> cleanup = new HashSet<>();
+        @Nullable
+        private Runnable recording = null;
+
+        private EffectCapture capture() {
+            return new EffectCapture(Set.copyOf(dependencies.values()), List.copyOf(nestedEffects), List.copyOf(deferredEffects), Set.copyOf(cleanup));
+        }
+
+        private void clear() {
+            dependencies.clear();
+            nestedEffects.clear();
+            deferredEffects.clear();
+            cleanup.clear();
+            recording = null;
+        }
+    }
 }
@@ -0,0 +1,110 @@
+package eu.nitonfx.signaling;
+
+import eu.nitonfx.signaling.api.SignalLike;
+import eu.nitonfx.signaling.api.Subscription;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+
+/**
+ * The subscribers of a signal, stored as an intrusive doubly linked list.
+ * Every node is its own {@link Subscription}, so unsubscribing is O(1) and notifying the subscribers allocates nothing.
+ * <p>
+ * Subscribers added during a notification are not notified by it, subscribers removed during a notification are skipped.
+ * </p>
+ * The list is guarded by the write lock of the context, so subscribing and unsubscribing is safe from any thread.
+ *
+ * @param <T> the type of the signal
+ */
+final class Subscribers<T> {
+    private Node head;
+    private Node tail;
+    private long generation = 0;
+    private final Lock lock;
+    @Nullable
+    private final Runnable onEmptied;
+
+    Subscribers(Lock lock) {
+        this(lock, null);
+    }
+
+    /**
+     * @param onEmptied called when the last subscriber unsubscribed
+     */
+    Subscribers(Lock lock, @Nullable Runnable onEmptied) {
+        this.lock = lock;
+        this.onEmptied = onEmptied;
+    }
+
+    Subscription add(Consumer<SignalLike<T>> consumer) {
+        lock.lock();
+        try {
+            var node = new Node(consumer, ++generation);
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+                node.prev = tail;
+            }
+            tail = node;
+            return node;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Calls every subscriber with the given signal
+     */
+    void dispatch(SignalLike<T> signal) {
+        lock.lock();
+        try {
+            var limit = generation;
+            for (var node = head; node != null && node.generation <= limit; node = node.next) {
+                if (!node.removed) node.consumer.accept(signal);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isEmpty() {
+        return head == null;
+    }
+
+    private void remove(Node node) {
+        lock.lock();
+        try {
+            if (node.removed) return;
+            node.removed = true;
+            if (node.prev == null) head = node.next;
+            else node.prev.next = node.next;
+            if (node.next == null) tail = node.prev;
+            else node.next.prev = node.prev;
+            //node.next is kept so a notification currently at this node can continue
+            node.prev = null;
+            if (head == null && onEmptied != null) onEmptied.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private final class Node implements Subscription {
+        private final Consumer<SignalLike<T>> consumer;
+        private final long generation;
+        private Node prev;
+        private Node next;
+        private boolean removed = false;
+
+        private Node(Consumer<SignalLike<T>> consumer, long generation) {
+            this.consumer = consumer;
+            this.generation = generation;
+        }
+
+        @Override
+        public void unsubscribe() {
+            remove(this);
+        }
+    }
+}
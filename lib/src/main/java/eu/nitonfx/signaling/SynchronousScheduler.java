@@ -0,0 +1,26 @@
+package eu.nitonfx.signaling;
+
+import eu.nitonfx.signaling.api.EffectScheduler;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Runs flushes immediately on the writing thread, see {@link EffectScheduler#synchronous()}
+ */
+public final class SynchronousScheduler implements EffectScheduler {
+    public static final SynchronousScheduler INSTANCE = new SynchronousScheduler();
+
+    private SynchronousScheduler() {
+    }
+
+    /**
+     * @return true if the scheduler runs flushes on the thread that scheduled them, so the context does not need to be thread-safe
+     */
+    public static boolean runsOnWritingThread(EffectScheduler scheduler) {
+        return scheduler instanceof SynchronousScheduler || scheduler instanceof MicrotaskScheduler;
+    }
+
+    @Override
+    public void schedule(@NotNull Runnable flush) {
+        flush.run();
+    }
+}
@@ -0,0 +1,20 @@
+package eu.nitonfx.signaling.api;
+
+/**
+ * A {@link Signal} holding a primitive {@code boolean}.
+ * Writing the value through {@link #set(boolean)} does not box it.
+ */
+public interface BooleanSignal extends BooleanSignalLike, Signal<Boolean> {
+
+    /**
+     * Sets the value of the signal and notifies subscribers if it changed.
+     *
+     * @param value the new value of the signal
+     */
+    void set(boolean value);
+
+    @Override
+    default void set(Boolean value) {
+        set(value.booleanValue());
+    }
+}
@@ -0,0 +1,35 @@
+package eu.nitonfx.signaling.api;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * A {@link SignalLike} holding a primitive {@code boolean}.
+ * Reading the value through {@link #getAsBoolean()} or {@link #getAsBooleanUntracked()} does not box it.
+ */
+public interface BooleanSignalLike extends SignalLike<Boolean>, BooleanSupplier {
+
+    /**
+     * Returns the current value of the signal, tracking dependencies like {@link #get()}.
+     *
+     * @return the current value of the signal
+     */
+    @Override
+    boolean getAsBoolean();
+
+    /**
+     * Returns the current value of the signal without tracking dependencies, like {@link #getUntracked()}.
+     *
+     * @return the current value of the signal
+     */
+    boolean getAsBooleanUntracked();
+
+    @Override
+    default Boolean get() {
+        return getAsBoolean();
+    }
+
+    @Override
+    default Boolean getUntracked() {
+        return getAsBooleanUntracked();
+    }
+}
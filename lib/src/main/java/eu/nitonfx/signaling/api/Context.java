@@ -1,6 +1,8 @@
 package eu.nitonfx.signaling.api;
 
+import eu.nitonfx.signaling.ConcurrentContext;
 import eu.nitonfx.signaling.SetStackContext;
+import eu.nitonfx.signaling.SynchronousScheduler;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -8,7 +10,15 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiPredicate;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
 /**
@@ -33,6 +43,54 @@ public interface Context {
         return new SetStackContext();
     }
 
+    /**
+     * Creates a new Context instance with the given options.
+     * Use {@link Options#production()} to skip capturing debug metadata.
+     * When the effect scheduler may run effects on another thread than the writing one,
+     * the context is thread-safe like one created by {@link #createConcurrent(Options)}.
+     *
+     * @param options the configuration of the context
+     * @return a new Context instance
+     */
+    static Context create(@NotNull Options options) {
+        if (SynchronousScheduler.runsOnWritingThread(options.effectScheduler())) return new SetStackContext(options);
+        return new ConcurrentContext(options);
+    }
+
+    /**
+     * Creates a new Context instance that runs its effects using the given scheduler,
+     * see {@link EffectScheduler} for the built-in schedulers.
+     * Unless the scheduler is {@link EffectScheduler#synchronous()} or {@link EffectScheduler#microtask()},
+     * effects may run on another thread, so the context is thread-safe like one created by {@link #createConcurrent(Options)}.
+     *
+     * @param effectScheduler decides when and where effects run
+     * @return a new Context instance
+     */
+    static Context create(@NotNull EffectScheduler effectScheduler) {
+        return create(Options.defaults().withEffectScheduler(effectScheduler));
+    }
+
+    /**
+     * Creates a new Context instance whose signals and memos can be read and written from multiple threads.
+     * Writes and effects are serialized while reads do not lock.
+     * Contexts created with {@link #create()} are confined to one thread at a time.
+     *
+     * @return a new thread-safe Context instance
+     */
+    static Context createConcurrent() {
+        return new ConcurrentContext();
+    }
+
+    /**
+     * Creates a new thread-safe Context instance with the given options, see {@link #createConcurrent()}
+     *
+     * @param options the configuration of the context
+     * @return a new thread-safe Context instance
+     */
+    static Context createConcurrent(@NotNull Options options) {
+        return new ConcurrentContext(options);
+    }
+
     /**
      * Creates a new signal with the given initial value.
      *
@@ -42,6 +100,17 @@ public interface Context {
      */
     <T> Signal<T> createSignal(T initial);
 
+    /**
+     * Creates a new signal with the given initial value and a custom equality.
+     * Writes of values that are equal to the current value are ignored and do not notify dependants.
+     *
+     * @param initial the initial value of the signal
+     * @param equals  decides if a written value (second parameter) is the same as the current value (first parameter), see {@link Equality} for common choices
+     * @param <T>     the type of the value
+     * @return a new Signal instance
+     */
+    <T> Signal<T> createSignal(T initial, @NotNull BiPredicate<T, T> equals);
+
     /**
      * Creates a new signal with a null initial value.
      *
@@ -50,6 +119,39 @@ public interface Context {
      */
     <T> Signal<@Nullable T> createNullSignal();
 
+    /**
+     * Creates a new signal holding a primitive int, reads and writes through the primitive accessors do not box.
+     *
+     * @param initial the initial value of the signal
+     * @return a new IntSignal instance
+     */
+    IntSignal createIntSignal(int initial);
+
+    /**
+     * Creates a new signal holding a primitive long, reads and writes through the primitive accessors do not box.
+     *
+     * @param initial the initial value of the signal
+     * @return a new LongSignal instance
+     */
+    LongSignal createLongSignal(long initial);
+
+    /**
+     * Creates a new signal holding a primitive double, reads and writes through the primitive accessors do not box.
+     * Values are compared like {@link Double#equals(Object)}, so writing {@code NaN} to a {@code NaN} signal is not a change.
+     *
+     * @param initial the initial value of the signal
+     * @return a new DoubleSignal instance
+     */
+    DoubleSignal createDoubleSignal(double initial);
+
+    /**
+     * Creates a new signal holding a primitive boolean, reads and writes through the primitive accessors do not box.
+     *
+     * @param initial the initial value of the signal
+     * @return a new BooleanSignal instance
+     */
+    BooleanSignal createBooleanSignal(boolean initial);
+
     /**
      * Creates a new ListSignal with the given initial values.
      *
@@ -119,6 +221,86 @@ public interface Context {
      */
     <T> SignalLike<T> createMemo(@NotNull Supplier<T> function);
 
+    /**
+     * Creates a memoized value with a custom equality, see {@link #createMemo(Supplier)}.
+     * When a recalculation produces a value that is equal to the previous one, dependants are not notified
+     * and memos depending on it are not recalculated.
+     *
+     * @param function the function to compute the value
+     * @param equals   decides if a calculated value (second parameter) is the same as the previous value (first parameter), see {@link Equality} for common choices
+     * @param <T>      the type of the value
+     * @return a Supplier that provides the memoized value
+     */
+    <T> SignalLike<T> createMemo(@NotNull Supplier<T> function, @NotNull BiPredicate<T, T> equals);
+
+    /**
+     * Creates a memoized primitive int, see {@link #createMemo(Supplier)}
+     *
+     * @param function the function to compute the value
+     * @return a signal that provides the memoized value
+     */
+    IntSignalLike createIntMemo(@NotNull IntSupplier function);
+
+    /**
+     * Creates a memoized primitive long, see {@link #createMemo(Supplier)}
+     *
+     * @param function the function to compute the value
+     * @return a signal that provides the memoized value
+     */
+    LongSignalLike createLongMemo(@NotNull LongSupplier function);
+
+    /**
+     * Creates a memoized primitive double, see {@link #createMemo(Supplier)}
+     *
+     * @param function the function to compute the value
+     * @return a signal that provides the memoized value
+     */
+    DoubleSignalLike createDoubleMemo(@NotNull DoubleSupplier function);
+
+    /**
+     * Creates a memoized primitive boolean, see {@link #createMemo(Supplier)}
+     *
+     * @param function the function to compute the value
+     * @return a signal that provides the memoized value
+     */
+    BooleanSignalLike createBooleanMemo(@NotNull BooleanSupplier function);
+
+    /**
+     * Creates a predicate that tests if a key is the one currently provided by the source, for example to check if a row is selected.
+     * Unlike comparing against the source directly, a reader only depends on the key it tested:
+     * when the source changes from A to B only the effects that tested A or B re-run instead of every effect that tested any key.
+     * <p>
+     * The source is observed by an effect, when created within an effect the selector stops following the source once that effect is disposed.
+     * Selectors created outside of effects follow the source until {@link Selector#cancel()} is called.
+     * </p>
+     *
+     * @param source provides the selected key
+     * @param <K>    the type of the keys
+     * @return a predicate that is true for the selected key, tests are tracked per key
+     */
+    <K> Selector<K> createSelector(@NotNull SignalLike<K> source);
+
+    /**
+     * Creates a resource that asynchronously fetches a value for the key provided by the source.
+     * The source is tracked like a memo, whenever it provides a different key the request in flight is cancelled and the new key is fetched.
+     * Keys that are equal to the previous key are not fetched again, while the source provides {@code null} nothing is fetched.
+     * <p>
+     * The fetcher is called on a new virtual thread, so it may block. The results are written to the signals of the resource by the owner,
+     * contexts that are confined to one thread need an owner that runs on that thread (e.g. {@code SwingUtilities::invokeLater}),
+     * thread-safe contexts (see {@link #createConcurrent()}) can write them on the completing thread with {@code Runnable::run}.
+     * </p>
+     * When created within an effect the resource stops fetching once that effect is disposed,
+     * resources created outside of effects fetch until {@link Resource#cancel()} is called.
+     *
+     * @param source  provides the key to fetch
+     * @param fetcher starts fetching the value of a key
+     * @param owner   executes tasks on a thread that may write to this context, used to write the results
+     * @param <K>     the type of the key
+     * @param <V>     the type of the fetched value
+     * @return the value, loading and error state of the fetched data
+     */
+    <K, V> Resource<V> createResource(@NotNull Supplier<@Nullable K> source, @NotNull Function<K, CompletableFuture<V>> fetcher, @NotNull Executor owner);
+
     /**
      * Executes the given function without tracking its dependencies.
      *
@@ -128,6 +310,45 @@ public interface Context {
      */
     <T> T untracked(@NotNull Supplier<T> function);
 
+    /**
+     * Executes the given function as a batch: effects depending on signals written inside the batch are not executed
+     * until the outermost batch exits. At that point every affected effect and memo is updated exactly once,
+     * no matter how many of its dependencies were written.
+     * Batches can be nested, only exiting the outermost batch flushes the pending updates.
+     * Reads inside the batch always see the latest written values.
+     *
+     * @param function the function to execute
+     * @param <T>      the type of the value returned by the function
+     * @return the value returned by the function
+     */
+    <T> T batch(@NotNull Supplier<T> function);
+
+    /**
+     * Executes the given function as a batch, see {@link #batch(Supplier)}
+     *
+     * @param function the function to execute
+     */
+    void batch(@NotNull Runnable function);
+
+    /**
+     * Creates a mailbox that lets other threads publish writes to signals of this context without blocking.
+     * Posted writes are applied in posting order on the owner thread, all writes queued at that time in a single batch.
+     *
+     * @param owner executes tasks on the thread that owns this context (e.g. {@code SwingUtilities::invokeLater}), used to schedule the draining of the mailbox
+     * @return a new Mailbox
+     */
+    Mailbox createMailbox(@NotNull Executor owner);
+
+    /**
+     * Creates a mailbox like {@link #createMailbox(Executor)} that coalesces the writes per signal:
+     * when a signal is posted to multiple times before the mailbox is drained, only the latest value is written.
+     * Useful for values that are published faster than the owner can react to them, like sensor or market data.
+     *
+     * @param owner executes tasks on the thread that owns this context, used to schedule the draining of the mailbox
+     * @return a new Mailbox
+     */
+    Mailbox createLatestWinsMailbox(@NotNull Executor owner);
+
     /**
      * Creates an effect that runs the given function whenever one of its dependencies changes.
      *
@@ -169,4 +390,14 @@ public interface Context {
      * Allows to register a custom effect
      */
     void registerEffect(EffectHandle customEffect);
+
+    /**
+     * Reports where the effects that are still alive were created, effects that are never cancelled show up here as leaks.
+     * An effect is alive until it is cancelled, with {@link Options.EffectRetention#WEAK} also until it is garbage collected.
+     * Effects created without debug metadata are reported as created at an unknown site.
+     *
+     * @return the number of live effects per creation site, the most frequent site first
+     * @throws IllegalStateException if the context was not created with {@link Options#withLiveEffectTracking(boolean) live effect tracking}
+     */
+    Map<String, Integer> liveEffects();
 }
@@ -0,0 +1,20 @@
+package eu.nitonfx.signaling.api;
+
+/**
+ * A {@link Signal} holding a primitive {@code double}.
+ * Writing the value through {@link #set(double)} does not box it.
+ */
+public interface DoubleSignal extends DoubleSignalLike, Signal<Double> {
+
+    /**
+     * Sets the value of the signal and notifies subscribers if it changed.
+     *
+     * @param value the new value of the signal
+     */
+    void set(double value);
+
+    @Override
+    default void set(Double value) {
+        set(value.doubleValue());
+    }
+}
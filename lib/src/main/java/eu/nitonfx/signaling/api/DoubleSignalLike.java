@@ -0,0 +1,35 @@
+package eu.nitonfx.signaling.api;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * A {@link SignalLike} holding a primitive {@code double}.
+ * Reading the value through {@link #getAsDouble()} or {@link #getAsDoubleUntracked()} does not box it.
+ */
+public interface DoubleSignalLike extends SignalLike<Double>, DoubleSupplier {
+
+    /**
+     * Returns the current value of the signal, tracking dependencies like {@link #get()}.
+     *
+     * @return the current value of the signal
+     */
+    @Override
+    double getAsDouble();
+
+    /**
+     * Returns the current value of the signal without tracking dependencies, like {@link #getUntracked()}.
+     *
+     * @return the current value of the signal
+     */
+    double getAsDoubleUntracked();
+
+    @Override
+    default Double get() {
+        return getAsDouble();
+    }
+
+    @Override
+    default Double getUntracked() {
+        return getAsDoubleUntracked();
+    }
+}
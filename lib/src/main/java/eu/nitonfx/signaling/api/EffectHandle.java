@@ -33,6 +33,10 @@ public interface EffectHandle {
         };
     }
 
+    /**
+     * Stops the effect and runs its cleanup. Cancelling is permanent, a cancelled effect never runs again,
+     * not even when it is invoked directly.
+     */
     void cancel();
 
     /**
@@ -0,0 +1,63 @@
+package eu.nitonfx.signaling.api;
+
+import eu.nitonfx.signaling.MicrotaskScheduler;
+import eu.nitonfx.signaling.SynchronousScheduler;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Decides when and on which thread the effects of a context run, see {@link Context#create(EffectScheduler)}.
+ * <p>
+ * When signals are written the affected effects are marked dirty immediately, running them is handed to the scheduler
+ * as a single flush. A flush runs all dirty effects (including the ones that become dirty during the flush)
+ * in dependency order. Until the flush ran, effects are not up-to-date but reading signals and memos always returns the latest values.
+ * </p>
+ * Schedulers that may run flushes on another thread than the one writing the signals need a thread-safe context,
+ * {@link Context#create(EffectScheduler)} creates one for all schedulers except {@link #synchronous()} and {@link #microtask()}.
+ */
+@FunctionalInterface
+public interface EffectScheduler {
+    /**
+     * Schedules a flush of the dirty effects. Only one flush per context is scheduled at a time.
+     *
+     * @param flush runs the dirty effects of the context
+     */
+    void schedule(@NotNull Runnable flush);
+
+    /**
+     * Effects run on the writing thread before the write returns, this is the default
+     */
+    static EffectScheduler synchronous() {
+        return SynchronousScheduler.INSTANCE;
+    }
+
+    /**
+     * Effects run on the writing thread at the end of the current top-level operation:
+     * flushes that are scheduled while a flush, {@link Context#batch(Runnable)}, {@link Context#untracked(Runnable)} or {@link Context#run(Runnable)}
+     * runs on the same thread are deferred until the outermost of them completes. This way the writes of one operation run the affected effects once,
+     * and an effect that writes signals of another context does not run the effects of that context nested inside itself.
+     * Writes outside of any operation flush before they return, like with {@link #synchronous()}.
+     * All contexts using this scheduler share the queue of the thread.
+     */
+    static EffectScheduler microtask() {
+        return MicrotaskScheduler.INSTANCE;
+    }
+
+    /**
+     * Effects run on the given executor, for example {@code SwingUtilities::invokeLater} to run all effects on the UI thread
+     *
+     * @param executor executes the flushes
+     */
+    static EffectScheduler executor(@NotNull Executor executor) {
+        return executor::execute;
+    }
+
+    /**
+     * Every flush runs on a new virtual thread, so I/O bound effects do not block the writing thread.
+     * Requires a thread-safe context, as created by {@link Context#create(EffectScheduler)} or {@link Context#createConcurrent(Options)}
+     */
+    static EffectScheduler virtualThreads() {
+        return Thread::startVirtualThread;
+    }
+}
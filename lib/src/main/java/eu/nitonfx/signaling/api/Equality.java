@@ -0,0 +1,37 @@
+package eu.nitonfx.signaling.api;
+
+import java.util.Objects;
+import java.util.function.BiPredicate;
+
+/**
+ * Ready-made equality functions for {@link Context#createSignal(Object, BiPredicate)} and {@link Context#createMemo(java.util.function.Supplier, BiPredicate)}.
+ * An equality function decides whether a new value is the same as the current one (first parameter: current, second parameter: new).
+ * If it is, the signal keeps its current value and dependants are not notified.
+ */
+public final class Equality {
+    private Equality() {
+    }
+
+    /**
+     * The default equality, based on {@link Object#equals(Object)}
+     */
+    public static <T> BiPredicate<T, T> objectEquals() {
+        return Objects::equals;
+    }
+
+    /**
+     * Values are only the same if they are the same instance.
+     * Useful for (large) immutable values where {@link Object#equals(Object)} would be expensive
+     */
+    public static <T> BiPredicate<T, T> identity() {
+        return (current, next) -> current == next;
+    }
+
+    /**
+     * Values are never the same, every write/calculation notifies dependants.
+     * Useful for mutable values that are modified in place and then written again
+     */
+    public static <T> BiPredicate<T, T> never() {
+        return (current, next) -> false;
+    }
+}
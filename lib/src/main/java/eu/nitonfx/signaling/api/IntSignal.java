@@ -0,0 +1,20 @@
+package eu.nitonfx.signaling.api;
+
+/**
+ * A {@link Signal} holding a primitive {@code int}.
+ * Writing the value through {@link #set(int)} does not box it.
+ */
+public interface IntSignal extends IntSignalLike, Signal<Integer> {
+
+    /**
+     * Sets the value of the signal and notifies subscribers if it changed.
+     *
+     * @param value the new value of the signal
+     */
+    void set(int value);
+
+    @Override
+    default void set(Integer value) {
+        set(value.intValue());
+    }
+}
@@ -0,0 +1,35 @@
+package eu.nitonfx.signaling.api;
+
+import java.util.function.IntSupplier;
+
+/**
+ * A {@link SignalLike} holding a primitive {@code int}.
+ * Reading the value through {@link #getAsInt()} or {@link #getAsIntUntracked()} does not box it.
+ */
+public interface IntSignalLike extends SignalLike<Integer>, IntSupplier {
+
+    /**
+     * Returns the current value of the signal, tracking dependencies like {@link #get()}.
+     *
+     * @return the current value of the signal
+     */
+    @Override
+    int getAsInt();
+
+    /**
+     * Returns the current value of the signal without tracking dependencies, like {@link #getUntracked()}.
+     *
+     * @return the current value of the signal
+     */
+    int getAsIntUntracked();
+
+    @Override
+    default Integer get() {
+        return getAsInt();
+    }
+
+    @Override
+    default Integer getUntracked() {
+        return getAsIntUntracked();
+    }
+}
@@ -5,6 +5,7 @@ import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.List;
 import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -35,6 +36,16 @@ public interface ListSignal<T> extends List<T> {
     List<T> getUntracked();
 
 
+    /**
+     * Replaces the contents of this list with the given elements, applying only the difference to the current contents.
+     * Elements that are kept stay associated with their signals and the effects created by {@link #onAdd(BiConsumer)},
+     * replaced elements are written to the existing signals and only the remaining elements are actually inserted or removed.
+     * All changes are applied in one batch.
+     *
+     * @param elements the new contents of this list
+     */
+    void setAll(List<T> elements);
+
     /**
      * Creates a mapped read-only projection/view of this list - if the underlying list changes the projection reflects this changes
      * @return a view of this list mapped to a different type
@@ -72,6 +83,28 @@ public interface ListSignal<T> extends List<T> {
      */
     EffectHandle onAdd(BiConsumer<SignalLike<T>, Integer> consumer);
 
+    /**
+     * <p>
+     * Maps each element of this list to a row that is identified by the key of the element.
+     * When the list changes rows are reused by key, no matter where the element moved to:
+     * only rows for new keys are created and only rows for keys that are gone are disposed.
+     * </p>
+     * <p>
+     * The mapper runs once per row in its own reactive scope, effects created within it live until the row is disposed.
+     * It receives the current element with the key of the row and the current index of the row as signals,
+     * so a row that is moved by insertions, removals or sorting is updated instead of re-created.
+     * </p>
+     * Has to be called within an effect, all rows are disposed when that effect is disposed.
+     * The rows are created by an effect nested in it, so the returned signal is filled once the calling effect completed its run.
+     *
+     * @param key    identifies the element, elements with equal keys share a row across changes
+     * @param mapper creates the row for an element, the first parameter is the element and the second its index
+     * @return the rows in the order of the elements
+     * @param <K> the type of the keys
+     * @param <R> the type of the rows
+     */
+    <K, R> SignalLike<@Unmodifiable List<R>> mapKeyed(Function<T, K> key, BiFunction<SignalLike<T>, SignalLike<Integer>, R> mapper);
+
 
     /**
      * Set name for tracking/debugging purposes
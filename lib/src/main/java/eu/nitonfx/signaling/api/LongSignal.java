@@ -0,0 +1,20 @@
+package eu.nitonfx.signaling.api;
+
+/**
+ * A {@link Signal} holding a primitive {@code long}.
+ * Writing the value through {@link #set(long)} does not box it.
+ */
+public interface LongSignal extends LongSignalLike, Signal<Long> {
+
+    /**
+     * Sets the value of the signal and notifies subscribers if it changed.
+     *
+     * @param value the new value of the signal
+     */
+    void set(long value);
+
+    @Override
+    default void set(Long value) {
+        set(value.longValue());
+    }
+}
@@ -0,0 +1,35 @@
+package eu.nitonfx.signaling.api;
+
+import java.util.function.LongSupplier;
+
+/**
+ * A {@link SignalLike} holding a primitive {@code long}.
+ * Reading the value through {@link #getAsLong()} or {@link #getAsLongUntracked()} does not box it.
+ */
+public interface LongSignalLike extends SignalLike<Long>, LongSupplier {
+
+    /**
+     * Returns the current value of the signal, tracking dependencies like {@link #get()}.
+     *
+     * @return the current value of the signal
+     */
+    @Override
+    long getAsLong();
+
+    /**
+     * Returns the current value of the signal without tracking dependencies, like {@link #getUntracked()}.
+     *
+     * @return the current value of the signal
+     */
+    long getAsLongUntracked();
+
+    @Override
+    default Long get() {
+        return getAsLong();
+    }
+
+    @Override
+    default Long getUntracked() {
+        return getAsLongUntracked();
+    }
+}
@@ -0,0 +1,29 @@
+package eu.nitonfx.signaling.api;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Lets threads that do not own a context publish writes without blocking, see {@link Context#createMailbox(java.util.concurrent.Executor)}.
+ * Posted writes are queued and applied on the owner thread of the context in a single {@link Context#batch(Runnable) batch},
+ * so effects run once per drain instead of once per write.
+ */
+public interface Mailbox {
+    /**
+     * Queues a write of the value to the signal and returns immediately without locking.
+     * Can be called from any thread, writes posted by the same thread are applied in the order they were posted.
+     *
+     * @param signal the signal to write to, has to belong to the context of the mailbox
+     * @param value  the value to write
+     * @param <T>    the type of the signal
+     */
+    <T> void post(@NotNull Signal<T> signal, T value);
+
+    /**
+     * Applies all queued writes in a single batch. Drains are scheduled on the owner automatically,
+     * the owner can call this to apply the queued writes earlier (e.g. from a dedicated event loop).
+     * Has to be called on the owner thread.
+     *
+     * @return the number of writes applied
+     */
+    int drain();
+}
@@ -0,0 +1,83 @@
+package eu.nitonfx.signaling.api;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Configuration of a {@link Context}, see {@link Context#create(Options)}
+ *
+ * @param debugMetadata   which debug information is captured when signals, memos and effects are created
+ * @param effectScheduler decides when and where effects run
+ * @param effectRetention how signals reference the effects that depend on them
+ * @param trackLiveEffects if the context keeps track of the live effects for {@link Context#liveEffects()}, this makes creating effects more expensive
+ */
+public record Options(@NotNull DebugMetadata debugMetadata, @NotNull EffectScheduler effectScheduler, @NotNull EffectRetention effectRetention, boolean trackLiveEffects) {
+
+    /**
+     * Debug metadata is the location in the source code where a signal, memo or effect was created.
+     * It is shown by {@code toString()} and {@link EffectHandle#formatAsTree()}
+     */
+    public enum DebugMetadata {
+        /**
+         * Nothing is captured, creating signals, memos and effects does not inspect the stack
+         */
+        OFF,
+        /**
+         * Only the frame of the caller is captured, using a {@link StackWalker} that stops as soon as it found it
+         */
+        LAZY,
+        /**
+         * The full stack trace is captured to find the caller
+         */
+        FULL
+    }
+
+    /**
+     * Decides if effects stay alive while the signals they depend on are alive
+     */
+    public enum EffectRetention {
+        /**
+         * Signals reference the effects that depend on them, effects stay alive until they are cancelled
+         */
+        STRONG,
+        /**
+         * Signals only reference the effects that depend on them weakly.
+         * Effects that are neither referenced by the user nor by a parent effect are garbage collected,
+         * their subscriptions are removed the next time the signal notifies its subscribers.
+         * The handles of effects created outside of other effects have to be kept as long as the effect should run
+         */
+        WEAK
+    }
+
+    /**
+     * @return the options used by {@link Context#create()}
+     */
+    public static Options defaults() {
+        return new Options(DebugMetadata.FULL, EffectScheduler.synchronous(), EffectRetention.STRONG, false);
+    }
+
+    /**
+     * @return options for production use where creating signals, memos and effects should be as cheap as possible
+     */
+    public static Options production() {
+        return new Options(DebugMetadata.OFF, EffectScheduler.synchronous(), EffectRetention.STRONG, false);
+    }
+
+    public Options withDebugMetadata(@NotNull DebugMetadata debugMetadata) {
+        return new Options(debugMetadata, effectScheduler, effectRetention, trackLiveEffects);
+    }
+
+    public Options withEffectScheduler(@NotNull EffectScheduler effectScheduler) {
+        return new Options(debugMetadata, effectScheduler, effectRetention, trackLiveEffects);
+    }
+
+    public Options withEffectRetention(@NotNull EffectRetention effectRetention) {
+        return new Options(debugMetadata, effectScheduler, effectRetention, trackLiveEffects);
+    }
+
+    /**
+     * Live effects are reported by their creation site, which is only known with debug metadata
+     */
+    public Options withLiveEffectTracking(boolean trackLiveEffects) {
+        return new Options(debugMetadata, effectScheduler, effectRetention, trackLiveEffects);
+    }
+}
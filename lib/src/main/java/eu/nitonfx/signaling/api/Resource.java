@@ -0,0 +1,31 @@
+package eu.nitonfx.signaling.api;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The state of asynchronously fetched data, see {@link Context#createResource(java.util.function.Supplier, java.util.function.Function, java.util.concurrent.Executor)}.
+ * All three signals are updated together, so effects never see a finished fetch that is still loading.
+ *
+ * @param <T> the type of the fetched value
+ */
+public interface Resource<T> {
+    /**
+     * @return the value of the latest successful fetch, null until a fetch succeeded. Keeps the previous value while loading or after a failure
+     */
+    SignalLike<@Nullable T> value();
+
+    /**
+     * @return true while a fetch is in flight
+     */
+    BooleanSignalLike loading();
+
+    /**
+     * @return the reason the latest fetch failed, null if it succeeded or is still loading
+     */
+    SignalLike<@Nullable Throwable> error();
+
+    /**
+     * Stops fetching and cancels the request in flight, the signals keep their current state
+     */
+    void cancel();
+}
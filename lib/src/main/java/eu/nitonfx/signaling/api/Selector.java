@@ -0,0 +1,17 @@
+package eu.nitonfx.signaling.api;
+
+import java.util.function.Predicate;
+
+/**
+ * Tests if a key is the one currently provided by a source, see {@link Context#createSelector(SignalLike)}.
+ * Tests are tracked per key, so a reader only depends on the key it tested.
+ *
+ * @param <K> the type of the keys
+ */
+public interface Selector<K> extends Predicate<K> {
+    /**
+     * Stops following the source, the selection stays at the key that was selected last.
+     * A selector created within an effect is cancelled when that effect is cleaned up.
+     */
+    void cancel();
+}
@@ -27,6 +27,26 @@ public interface SignalLike<T> extends Supplier<T> {
      */
     T getUntracked();
 
+    /**
+     * Returned by {@link #version()} of signals that do not keep a version, changes of such signals are detected by comparing their values
+     */
+    long UNVERSIONED = Long.MIN_VALUE;
+
+    /**
+     * Returns a stamp of the current value that changes every time the value of the signal changes.
+     * Comparing stamps is a cheap way to detect changes without comparing or retaining values.
+     * This method does not track dependencies.
+     * <p>
+     * Implementations that do not override this method are {@link #UNVERSIONED}, readers then keep the read value
+     * and compare it with {@link Object#equals(Object)} to detect changes.
+     * </p>
+     *
+     * @return the version of the current value or {@link #UNVERSIONED}
+     */
+    default long version() {
+        return UNVERSIONED;
+    }
+
     /**
      * Listen to this signal getting dirty, allowing dependency tracking, delayed execution;
      * this is the preferred mode of listening.
@@ -65,6 +85,11 @@ public interface SignalLike<T> extends Supplier<T> {
                 return mapper.apply(SignalLike.this.getUntracked());
             }
 
+            @Override
+            public long version() {
+                return SignalLike.this.version();
+            }
+
             @Override
             public Subscription onDirtyEffect(Consumer<SignalLike<I>> consumer) {
                 return SignalLike.this.onDirtyEffect(signal -> consumer.accept(this));
@@ -3,22 +3,33 @@ package eu.nitonfx.signaling.collections;
 import eu.nitonfx.signaling.SetStackContext;
 import eu.nitonfx.signaling.api.*;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Objects;
 import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-public class ArraySignalList<T> extends AbstractList<T> implements ListSignal<T> {
+public class ArraySignalList<T> extends AbstractList<T> implements ProjectableList<T> {
     private final List<Signal<T>> list;
     private final Context cx;
-    private final Signal<Integer> size;
+    private final IntSignal size;
+    @Nullable
     private final StackTraceElement origin;
     private final List<Reconciler<Signal<T>>> reconcilers = new ArrayList<>();
     private String name;
@@ -26,31 +37,44 @@ public class ArraySignalList<T> extends AbstractList<T> implements ListSignal<T>
     private interface Reconciler<T> {
         void onAdd(T element, int index);
         void onRemove(int index);
+        void onAddAll(int index, List<T> elements);
+        void onRemoveAll(BitSet removed);
     }
 
-    public ArraySignalList(Context cx, StackTraceElement origin) {
+    public ArraySignalList(Context cx, @Nullable StackTraceElement origin) {
         this.cx = cx;
-        size = cx.createSignal(0);
+        size = cx.createIntSignal(0);
         size.setName("ListSignal.size");
         this.origin = origin;
-        list = new ListenableList<>(new ArrayList<>(), this::onRemove, this::onAdd, null);
+        list = new ListenableList<>(new ArrayList<>(), this::onRemove, this::onAdd, null, this::onAddAll, this::onRemoveAll);
     }
 
-    public ArraySignalList(Context cx, List<T> initial, StackTraceElement origin) {
+    public ArraySignalList(Context cx, List<T> initial, @Nullable StackTraceElement origin) {
         this.cx = cx;
         this.origin = origin;
-        this.list = new ListenableList<>(initial.stream().map(cx::createSignal).collect(Collectors.toCollection(ArrayList::new)), this::onRemove, this::onAdd, null);
-        size = cx.createSignal(initial.size());
+        this.list = new ListenableList<>(initial.stream().map(cx::createSignal).collect(Collectors.toCollection(ArrayList::new)), this::onRemove, this::onAdd, null, this::onAddAll, this::onRemoveAll);
+        size = cx.createIntSignal(initial.size());
     }
 
+    //the reconcilers are updated before the size, effects that re-run because of the size see the updated reconcilers
     private void onAdd(Signal<T> tSignal, Integer integer) {
-        size.set(list.size());
         reconcilers.forEach(reconciler -> reconciler.onAdd(tSignal, integer));
+        size.set(list.size());
     }
 
     private void onRemove(Integer integer) {
-        size.set(list.size());
         reconcilers.forEach(reconciler -> reconciler.onRemove(integer));
+        size.set(list.size());
+    }
+
+    private void onAddAll(int index, List<Signal<T>> signals) {
+        reconcilers.forEach(reconciler -> reconciler.onAddAll(index, signals));
+        size.set(list.size());
+    }
+
+    private void onRemoveAll(BitSet removed) {
+        reconcilers.forEach(reconciler -> reconciler.onRemoveAll(removed));
+        size.set(list.size());
     }
 
     @Override
@@ -68,9 +92,53 @@ public class ArraySignalList<T> extends AbstractList<T> implements ListSignal<T>
         return list.remove(index).get();
     }
 
+    @Override
+    public boolean addAll(int index, Collection<? extends T> c) {
+        var signals = new ArrayList<Signal<T>>(c.size());
+        for (var element : c) signals.add(cx.createSignal(element));
+        return cx.batch(() -> list.addAll(index, signals));
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends T> c) {
+        return addAll(list.size(), c);
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        return cx.batch(() -> list.removeIf(signal -> filter.test(signal.getUntracked())));
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        return removeIf(c::contains);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        return removeIf(element -> !c.contains(element));
+    }
+
+    @Override
+    public void clear() {
+        cx.batch(list::clear);
+    }
+
+    /**
+     * Sorts by writing the sorted elements to the existing signals, the structure of the list does not change
+     */
+    @Override
+    public void sort(Comparator<? super T> c) {
+        var sorted = getUntracked();
+        sorted.sort(c);
+        cx.batch(() -> {
+            for (var i = 0; i < sorted.size(); i++) list.get(i).set(sorted.get(i));
+        });
+    }
+
     @Override
     public int size() {
-        return size.get();
+        return size.getAsInt();
     }
 
     @Override
@@ -97,6 +165,178 @@ public class ArraySignalList<T> extends AbstractList<T> implements ListSignal<T>
         return list.stream().map(Signal::getUntracked).collect(Collectors.toList());
     }
 
+    @Override
+    public void setAll(List<T> elements) {
+        var current = getUntracked();
+        var common = Math.min(current.size(), elements.size());
+        var prefix = 0;
+        while (prefix < common && Objects.equals(current.get(prefix), elements.get(prefix))) prefix++;
+        var suffix = 0;
+        while (suffix < common - prefix && Objects.equals(current.get(current.size() - 1 - suffix), elements.get(elements.size() - 1 - suffix))) suffix++;
+        var start = prefix;
+        var replaced = current.subList(start, current.size() - suffix);
+        var replacement = elements.subList(start, elements.size() - suffix);
+        var edits = EditScript.of(replaced, replacement);
+        cx.batch(() -> {
+            if (edits == null) replacePositional(start, replaced.size(), replacement);
+            else applyEdits(edits, start, replacement);
+        });
+    }
+
+    /**
+     * Applies the edit script to the range starting at {@code start}, a deletion next to an insertion is applied as a write to the existing signal
+     */
+    private void applyEdits(EditScript edits, int start, List<T> replacement) {
+        var operations = edits.operations;
+        var position = start;
+        var next = 0;
+        for (var i = 0; i < operations.length; ) {
+            if (operations[i] == EditScript.KEEP) {
+                position++;
+                next++;
+                i++;
+                continue;
+            }
+            int deletions = 0, insertions = 0;
+            for (; i < operations.length && operations[i] != EditScript.KEEP; i++) {
+                if (operations[i] == EditScript.DELETE) deletions++;
+                else insertions++;
+            }
+            var writes = Math.min(deletions, insertions);
+            for (var w = 0; w < writes; w++) list.get(position++).set(replacement.get(next++));
+            for (var d = writes; d < deletions; d++) list.remove(position);
+            for (var a = writes; a < insertions; a++) list.add(position++, cx.createSignal(replacement.get(next++)));
+        }
+    }
+
+    /**
+     * Overwrites the range element by element, used when the contents differ too much for an edit script to pay off
+     */
+    private void replacePositional(int start, int length, List<T> replacement) {
+        var writes = Math.min(length, replacement.size());
+        for (var i = 0; i < writes; i++) list.get(start + i).set(replacement.get(i));
+        for (var i = start + length - 1; i >= start + writes; i--) list.remove(i);
+        for (var i = writes; i < replacement.size(); i++) list.add(start + i, cx.createSignal(replacement.get(i)));
+    }
+
+    /**
+     * The shortest sequence of insertions and deletions that turns one list into another, computed with Myers' diff algorithm
+     */
+    private static final class EditScript {
+        /**
+         * Above this number of insertions and deletions computing the script costs more than it saves
+         */
+        private static final int MAX_EDITS = 1024;
+        /**
+         * Every round of the algorithm compares up to n + m elements, the rounds are limited so that no more than this many comparisons are made
+         */
+        private static final int MAX_WORK = 1 << 22;
+        private static final byte KEEP = 0;
+        private static final byte DELETE = 1;
+        private static final byte INSERT = 2;
+        private final byte[] operations;
+
+        private EditScript(byte[] operations) {
+            this.operations = operations;
+        }
+
+        /**
+         * @return the edit script or null if more than {@link #MAX_EDITS} edits or {@link #MAX_WORK} comparisons are needed
+         */
+        @Nullable
+        static EditScript of(List<?> from, List<?> to) {
+            int n = from.size(), m = to.size();
+            var limit = Math.min(Math.min(n + m, MAX_EDITS), MAX_WORK / Math.max(1, n + m));
+            if (Math.abs(n - m) > limit || minimumEdits(from, to) > limit) return null;
+            var offset = limit + 1;
+            var furthest = new int[2 * limit + 3];
+            var trace = new ArrayList<int[]>();
+            for (var d = 0; d <= limit; d++) {
+                //round d only reads the diagonals -d-1 to d+1 of the previous round
+                trace.add(Arrays.copyOfRange(furthest, offset - d - 1, offset + d + 2));
+                for (var k = -d; k <= d; k += 2) {
+                    var x = k == -d || (k != d && furthest[k - 1 + offset] < furthest[k + 1 + offset])
+                            ? furthest[k + 1 + offset]
+                            : furthest[k - 1 + offset] + 1;
+                    var y = x - k;
+                    while (x < n && y < m && Objects.equals(from.get(x), to.get(y))) {
+                        x++;
+                        y++;
+                    }
+                    furthest[k + offset] = x;
+                    if (x >= n && y >= m) return backtrack(trace, n, m);
+                }
+            }
+            return null;
+        }
+
+        /**
+         * The exact number if the elements of {@code from} are distinct: the longest common subsequence is then the longest increasing
+         * run of the positions in {@code from} of the elements in {@code to}, which also catches reorderings like a reversed list.
+         * Otherwise only the elements that are not in both lists are counted, every one of them has to be inserted or deleted.
+         *
+         * @return a lower bound of the insertions and deletions needed
+         */
+        private static int minimumEdits(List<?> from, List<?> to) {
+            var positions = new HashMap<Object, Integer>(from.size() * 2);
+            for (var i = 0; i < from.size(); i++) {
+                if (positions.put(from.get(i), i) != null) return unmatchedElements(from, to);
+            }
+            var tails = new int[to.size()];
+            var common = 0;
+            for (var element : to) {
+                var position = positions.get(element);
+                if (position == null) continue;
+                var slot = Arrays.binarySearch(tails, 0, common, position);
+                if (slot >= 0) continue;
+                slot = -slot - 1;
+                tails[slot] = position;
+                if (slot == common) common++;
+            }
+            return from.size() + to.size() - 2 * common;
+        }
+
+        private static int unmatchedElements(List<?> from, List<?> to) {
+            var unmatched = new HashMap<Object, Integer>(from.size() * 2);
+            for (var element : from) unmatched.merge(element, 1, Integer::sum);
+            var common = 0;
+            for (var element : to) {
+                var count = unmatched.get(element);
+                if (count == null || count == 0) continue;
+                unmatched.put(element, count - 1);
+                common++;
+            }
+            return from.size() + to.size() - 2 * common;
+        }
+
+        /**
+         * @param trace the diagonals -d-1 to d+1 before round d, diagonal k of round d is at index {@code k + d + 1}
+         */
+        private static EditScript backtrack(List<int[]> trace, int x, int y) {
+            var reversed = new byte[x + y];
+            var length = 0;
+            for (var d = trace.size() - 1; d >= 0; d--) {
+                var furthest = trace.get(d);
+                var offset = d + 1;
+                var k = x - y;
+                var previousK = k == -d || (k != d && furthest[k - 1 + offset] < furthest[k + 1 + offset]) ? k + 1 : k - 1;
+                var previousX = furthest[previousK + offset];
+                var previousY = previousX - previousK;
+                while (x > previousX && y > previousY) {
+                    reversed[length++] = KEEP;
+                    x--;
+                    y--;
+                }
+                if (d > 0) reversed[length++] = x == previousX ? INSERT : DELETE;
+                x = previousX;
+                y = previousY;
+            }
+            var operations = new byte[length];
+            for (var i = 0; i < length; i++) operations[i] = reversed[length - 1 - i];
+            return new EditScript(operations);
+        }
+    }
+
     public EffectHandle onAdd(BiConsumer<SignalLike<T>, Integer> consumer) {
         List<EffectHandle> handles = new ArrayList<>();
         for (var i = 0; i < list.size(); i++) {
@@ -121,6 +361,30 @@ public class ArraySignalList<T> extends AbstractList<T> implements ListSignal<T>
                 handles.get(index).cancel();
                 handles.remove(index);
             }
+
+            @Override
+            public void onAddAll(int index, List<Signal<T>> elements) {
+                var added = new ArrayList<EffectHandle>(elements.size());
+                for (var i = 0; i < elements.size(); i++) {
+                    var element = elements.get(i);
+                    var elementIndex = index + i;
+                    var effect = cx.createEffect(() -> consumer.accept(element, elementIndex));
+                    effect.name(name + ".onAdd[" + elementIndex + "]");
+                    added.add(effect);
+                }
+                handles.addAll(index, added);
+            }
+
+            @Override
+            public void onRemoveAll(BitSet removed) {
+                var kept = 0;
+                for (var i = 0; i < handles.size(); i++) {
+                    var handle = handles.get(i);
+                    if (removed.get(i)) handle.cancel();
+                    else handles.set(kept++, handle);
+                }
+                handles.subList(kept, handles.size()).clear();
+            }
         };
         reconcilers.add(reconciler);
         var name = this.name+".onAdd";
@@ -136,13 +400,216 @@ public class ArraySignalList<T> extends AbstractList<T> implements ListSignal<T>
         return handle;
     }
 
+    @Override
+    public <K, R> SignalLike<List<R>> mapKeyed(Function<T, K> key, BiFunction<SignalLike<T>, SignalLike<Integer>, R> mapper) {
+        return mapKeyed(() -> new Elements<T>() {
+            @Override
+            public SignalLike<T> get(int index) {
+                return list.get(index);
+            }
+
+            @Override
+            public void dispose() {
+            }
+        }, key, mapper);
+    }
+
+    @Override
+    public <V, K, R> SignalLike<List<R>> mapKeyed(Function<SignalLike<T>, SignalLike<V>> projection, Function<V, K> key, BiFunction<SignalLike<V>, SignalLike<Integer>, R> mapper) {
+        return mapKeyed(() -> new ProjectedElements<>(projection), key, mapper);
+    }
+
+    /**
+     * @param elements creates the source of the values the rows are keyed by, only called once the mapping is owned by the enclosing effect
+     */
+    private <V, K, R> SignalLike<List<R>> mapKeyed(Supplier<Elements<V>> elements, Function<V, K> key, BiFunction<SignalLike<V>, SignalLike<Integer>, R> mapper) {
+        var mapping = new KeyedMapping<>(key, mapper);
+        var name = this.name + ".mapKeyed";
+        var handle = EffectHandle.of(name, mapping::dispose, () -> mapping.rows.stream()
+                .flatMap(it -> Stream.of(("-" + it.scope.formatAsTree()).split("\n")))
+                .map(it -> "|" + it)
+                .collect(Collectors.joining("\n")));
+        cx.registerEffect(handle);
+        mapping.elements = elements.get();
+        //the first run creates the rows
+        mapping.reconciliation = cx.createEffect(() -> {
+            var values = mapping.read();
+            cx.untracked(() -> mapping.reconcile(values));
+        });
+        mapping.reconciliation.name(name);
+        return mapping.result;
+    }
+
+    /**
+     * The values of the elements in list order, that the rows of {@link #mapKeyed(Function, BiFunction)} are keyed by
+     */
+    private interface Elements<V> {
+        SignalLike<V> get(int index);
+
+        void dispose();
+    }
+
+    /**
+     * Projects every element signal once, in its own scope that is disposed together with the element
+     */
+    private class ProjectedElements<V> implements Elements<V>, Reconciler<Signal<T>> {
+        private final Function<SignalLike<T>, SignalLike<V>> projection;
+        private final List<Projected<V>> projected = new ArrayList<>();
+
+        private ProjectedElements(Function<SignalLike<T>, SignalLike<V>> projection) {
+            this.projection = projection;
+            for (var element : list) projected.add(project(element));
+            reconcilers.add(this);
+        }
+
+        private Projected<V> project(Signal<T> element) {
+            var result = new Projected<V>();
+            result.scope = cx.run(() -> result.value = projection.apply(element));
+            return result;
+        }
+
+        @Override
+        public SignalLike<V> get(int index) {
+            return projected.get(index).value;
+        }
+
+        @Override
+        public void onAdd(Signal<T> element, int index) {
+            projected.add(index, project(element));
+        }
+
+        @Override
+        public void onRemove(int index) {
+            projected.remove(index).scope.cancel();
+        }
+
+        @Override
+        public void onAddAll(int index, List<Signal<T>> elements) {
+            var added = new ArrayList<Projected<V>>(elements.size());
+            for (var element : elements) added.add(project(element));
+            projected.addAll(index, added);
+        }
+
+        @Override
+        public void onRemoveAll(BitSet removed) {
+            var kept = 0;
+            for (var i = 0; i < projected.size(); i++) {
+                var element = projected.get(i);
+                if (removed.get(i)) element.scope.cancel();
+                else projected.set(kept++, element);
+            }
+            projected.subList(kept, projected.size()).clear();
+        }
+
+        @Override
+        public void dispose() {
+            reconcilers.remove(this);
+            projected.forEach(element -> element.scope.cancel());
+            projected.clear();
+        }
+    }
+
+    private static class Projected<V> {
+        private SignalLike<V> value;
+        private EffectHandle scope;
+    }
+
+    /**
+     * The rows of {@link #mapKeyed(Function, BiFunction)}, they are looked up by key so reconciling is O(n) for any kind of change
+     */
+    private class KeyedMapping<V, K, R> {
+        private final Function<V, K> key;
+        private final BiFunction<SignalLike<V>, SignalLike<Integer>, R> mapper;
+        private final Signal<List<R>> result = cx.createSignal(List.of(), Equality.objectEquals());
+        private List<Row<K, V, R>> rows = List.of();
+        private Elements<V> elements;
+        private EffectHandle reconciliation;
+
+        private KeyedMapping(Function<V, K> key, BiFunction<SignalLike<V>, SignalLike<Integer>, R> mapper) {
+            this.key = key;
+            this.mapper = mapper;
+        }
+
+        /**
+         * @return the current values of the elements, tracked when called within an effect
+         */
+        private List<V> read() {
+            var count = size();
+            var values = new ArrayList<V>(count);
+            for (var i = 0; i < count; i++) values.add(elements.get(i).get());
+            return values;
+        }
+
+        private void reconcile(List<V> elements) {
+            var previous = new HashMap<K, Row<K, V, R>>(rows.size() * 2);
+            for (var i = rows.size() - 1; i >= 0; i--) {
+                var row = rows.get(i);
+                row.sameKey = previous.put(row.key, row);
+            }
+            var next = new ArrayList<Row<K, V, R>>(elements.size());
+            var mapped = new ArrayList<R>(elements.size());
+            for (var i = 0; i < elements.size(); i++) {
+                var element = elements.get(i);
+                var elementKey = key.apply(element);
+                var row = previous.get(elementKey);
+                if (row == null) {
+                    row = createRow(elementKey, element, i);
+                } else {
+                    if (row.sameKey != null) previous.put(elementKey, row.sameKey);
+                    else previous.remove(elementKey);
+                    row.sameKey = null;
+                    row.value.set(element);
+                    row.index.set(i);
+                }
+                next.add(row);
+                mapped.add(row.mapped);
+            }
+            for (var row : previous.values()) {
+                for (var disposed = row; disposed != null; disposed = disposed.sameKey) disposed.scope.cancel();
+            }
+            rows = next;
+            result.set(Collections.unmodifiableList(mapped));
+        }
+
+        private Row<K, V, R> createRow(K rowKey, V element, int index) {
+            var row = new Row<K, V, R>(rowKey, cx.createSignal(element), cx.createIntSignal(index));
+            row.scope = cx.run(() -> row.mapped = mapper.apply(row.value, row.index));
+            return row;
+        }
+
+        private void dispose() {
+            if (reconciliation != null) reconciliation.cancel();
+            rows.forEach(row -> row.scope.cancel());
+            rows = List.of();
+            if (elements != null) elements.dispose();
+        }
+    }
+
+    private static class Row<K, T, R> {
+        private final K key;
+        private final Signal<T> value;
+        private final IntSignal index;
+        private R mapped;
+        private EffectHandle scope;
+        /**
+         * the next unclaimed row with the same key while reconciling, lists may contain duplicate keys
+         */
+        private Row<K, T, R> sameKey;
+
+        private Row(K key, Signal<T> value, IntSignal index) {
+            this.key = key;
+            this.value = value;
+            this.index = index;
+        }
+    }
+
     @Override
     public void setName(String name) {
         this.name = name;
         size.setName(name+".size");
     }
 
-    public StackTraceElement getOrigin() {
+    public @Nullable StackTraceElement getOrigin() {
         return origin;
     }
 
@@ -154,19 +621,20 @@ public class ArraySignalList<T> extends AbstractList<T> implements ListSignal<T>
 
     @Override
     public @Unmodifiable <N> ListSignal<N> mapSignals(Function<SignalLike<T>, N> mapper) {
-        return new MappedSignalView<>(mapper, this);
+        return new MappedSignalView<>(mapper, this, cx);
     }
 
     @Unmodifiable
-    private static class MappedSignalView<O,N> extends AbstractList<N> implements ListSignal<N>{
+    private static class MappedSignalView<O,N> extends AbstractList<N> implements ProjectableList<N>{
         private final Function<SignalLike<O>,N> mapper;
         private String name;
-        private final ListSignal<O> unmapped;
-        private Context cx;
+        private final ProjectableList<O> unmapped;
+        private final Context cx;
 
-        private MappedSignalView(Function<SignalLike<O>, N> mapper,  ListSignal<O> unmapped) {
+        private MappedSignalView(Function<SignalLike<O>, N> mapper, ProjectableList<O> unmapped, Context cx) {
             this.mapper = mapper;
             this.unmapped = unmapped;
+            this.cx = cx;
         }
 
         @Override
@@ -190,14 +658,32 @@ public class ArraySignalList<T> extends AbstractList<T> implements ListSignal<T>
             return unmapped.onAdd((elem, index) -> consumer.accept(cx.createMemo(()->mapper.apply(elem)), index));
         }
 
+        /**
+         * Every element is mapped once, in a memo like {@link #onAdd(BiConsumer)}, and the rows are keyed by the mapped value
+         */
+        @Override
+        public <K, R> SignalLike<List<R>> mapKeyed(Function<N, K> key, BiFunction<SignalLike<N>, SignalLike<Integer>, R> mapper) {
+            return mapKeyed(Function.identity(), key, mapper);
+        }
+
+        @Override
+        public <V, K, R> SignalLike<List<R>> mapKeyed(Function<SignalLike<N>, SignalLike<V>> projection, Function<V, K> key, BiFunction<SignalLike<V>, SignalLike<Integer>, R> mapper) {
+            return unmapped.mapKeyed(elem -> projection.apply(cx.createMemo(() -> this.mapper.apply(elem))), key, mapper);
+        }
+
         @Override
         public <M> ListSignal<M> map(Function<N, M> mapper) {
-            return new MappedSignalView<>(this.mapper.andThen(mapper), unmapped);
+            return new MappedSignalView<>(this.mapper.andThen(mapper), unmapped, cx);
+        }
+
+        @Override
+        public void setAll(List<N> elements) {
+            throw new UnsupportedOperationException();
         }
 
         @Override
         public @Unmodifiable <M> ListSignal<M> mapSignals(Function<SignalLike<N>, M> mapper) {
-            return new MappedSignalView<>(mapper, this);
+            return new MappedSignalView<>(mapper, this, cx);
         }
 
         @Override
@@ -217,7 +703,7 @@ public class ArraySignalList<T> extends AbstractList<T> implements ListSignal<T>
     }
 
     @Unmodifiable
-    private class MappedView<N> extends AbstractList<N> implements ListSignal<N>{
+    private class MappedView<N> extends AbstractList<N> implements ProjectableList<N>{
         private final Function<T,N> mapper;
         private String name;
         private MappedView(Function<T, N> mapper) {
@@ -244,14 +730,29 @@ public class ArraySignalList<T> extends AbstractList<T> implements ListSignal<T>
             return ArraySignalList.this.onAdd((elem, index) -> consumer.accept(elem.map(mapper), index));
         }
 
+        @Override
+        public <K, R> SignalLike<List<R>> mapKeyed(Function<N, K> key, BiFunction<SignalLike<N>, SignalLike<Integer>, R> mapper) {
+            return ArraySignalList.this.mapKeyed(this.mapper.andThen(key), (elem, index) -> mapper.apply(elem.map(this.mapper), index));
+        }
+
+        @Override
+        public <V, K, R> SignalLike<List<R>> mapKeyed(Function<SignalLike<N>, SignalLike<V>> projection, Function<V, K> key, BiFunction<SignalLike<V>, SignalLike<Integer>, R> mapper) {
+            return ArraySignalList.this.mapKeyed(elem -> projection.apply(elem.map(this.mapper)), key, mapper);
+        }
+
         @Override
         public <M> ListSignal<M> map(Function<N, M> mapper) {
             return new MappedView<>(this.mapper.andThen(mapper));
         }
 
+        @Override
+        public void setAll(List<N> elements) {
+            throw new UnsupportedOperationException();
+        }
+
         @Override
         public @Unmodifiable <M> ListSignal<M> mapSignals(Function<SignalLike<N>, M> mapper) {
-            return new MappedSignalView<>(mapper, this);
+            return new MappedSignalView<>(mapper, this, cx);
         }
 
         @Override
@@ -0,0 +1,287 @@
+package eu.nitonfx.signaling.collections;
+
+import eu.nitonfx.signaling.api.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A {@link MapSignal} that looks values up in a {@link HashMap}, so get, put and remove are O(1).
+ * Each value is held in its own signal, the keys are mirrored in a {@link HashSetSignal} that tracks the structure of the map
+ * and the presence of single keys. Reading a single key only depends on the presence and value of that key,
+ * so changes of other keys do not notify the reader.
+ */
+public class HashMapSignal<K, V> extends AbstractMap<K, V> implements MapSignal<K, V> {
+    private final Map<K, Signal<V>> values = new HashMap<>();
+    private final HashSetSignal<K> keys;
+    private final Context cx;
+    @Nullable
+    private final StackTraceElement origin;
+
+    public HashMapSignal(Context cx, @Nullable StackTraceElement origin) {
+        this(cx, Map.of(), origin);
+    }
+
+    public HashMapSignal(Context cx, Map<K, V> initial, @Nullable StackTraceElement origin) {
+        this.cx = cx;
+        this.origin = origin;
+        initial.forEach((key, value) -> values.put(key, cx.createSignal(value)));
+        keys = new HashSetSignal<>(cx, initial.keySet());
+    }
+
+    @Override
+    public @Nullable SignalLike<V> getSignal(K key) {
+        return values.get(key);
+    }
+
+    @Override
+    public V get(Object key) {
+        keys.contains(key);//this is to make sure the presence of the key is subscribed to
+        var signal = values.get(key);
+        return signal != null ? signal.get() : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return keys.contains(key);
+    }
+
+    @Override
+    public SignalLike<V> get(Supplier<? extends K> key) {
+        return cx.createMemo(() -> get(key.get()));
+    }
+
+    @Override
+    public @Nullable V put(K key, V value) {
+        var existing = values.get(key);
+        if (existing != null) {
+            var old = existing.getUntracked();
+            existing.set(value);
+            return old;
+        }
+        values.put(key, cx.createSignal(value));
+        keys.add(key);
+        return null;
+    }
+
+    @Override
+    public void putAll(@NotNull Map<? extends K, ? extends V> m) {
+        cx.batch(() -> {
+            var added = new ArrayList<K>();
+            m.forEach((key, value) -> {
+                var existing = values.get(key);
+                if (existing != null) {
+                    existing.set(value);
+                } else {
+                    values.put(key, cx.createSignal((V) value));
+                    added.add(key);
+                }
+            });
+            keys.addAll(added);
+        });
+    }
+
+    @Override
+    public V remove(Object key) {
+        var signal = values.remove(key);
+        if (signal == null) return null;
+        keys.remove(key);
+        return signal.getUntracked();
+    }
+
+    @Override
+    public void clear() {
+        cx.batch(() -> {
+            values.clear();
+            keys.clear();
+        });
+    }
+
+    @Override
+    public int size() {
+        return keys.size();
+    }
+
+    @Override
+    public @NotNull Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public @NotNull Iterator<Entry<K, V>> iterator() {
+                var iter = keys.iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iter.hasNext();
+                    }
+
+                    @Override
+                    public Entry<K, V> next() {
+                        return new SignalEntry(iter.next());
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return keys.size();
+            }
+        };
+    }
+
+    @Override
+    @Unmodifiable
+    public Map<K, V> getUntracked() {
+        var untracked = new HashMap<K, V>(values.size() * 2);
+        values.forEach((key, signal) -> untracked.put(key, signal.getUntracked()));
+        return Collections.unmodifiableMap(untracked);
+    }
+
+    @Override
+    public @NotNull SetSignal<K> keySetSignal() {
+        return keys.map(Function.identity());
+    }
+
+    @Override
+    public EffectHandle onPut(BiConsumer<K, SignalLike<V>> o) {
+        return keys.onAdd(key -> o.accept(key, values.get(key)));
+    }
+
+    @Override
+    public <N> MapSignal<K, N> mapValues(Function<V, N> mapper) {
+        return new View<>(mapper);
+    }
+
+    public @Nullable StackTraceElement getOrigin() {
+        return origin;
+    }
+
+    /**
+     * An entry that reads its value from the map, so reading the value is tracked
+     */
+    private class SignalEntry implements Entry<K, V> {
+        private final K key;
+
+        private SignalEntry(K key) {
+            this.key = key;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            var signal = values.get(key);
+            return signal != null ? signal.get() : null;
+        }
+
+        @Override
+        public V setValue(V value) {
+            return put(key, value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Entry<?, ?> entry && Objects.equals(key, entry.getKey()) && Objects.equals(getValue(), entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+
+    private class View<N> extends AbstractMap<K, N> implements MapSignal<K, N> {
+        private final Function<V, N> mapper;
+
+        private View(Function<V, N> mapper) {
+            this.mapper = mapper;
+        }
+
+        @Override
+        public SignalLike<N> getSignal(K key) {
+            var signal = HashMapSignal.this.getSignal(key);
+            return signal != null ? signal.map(mapper) : null;
+        }
+
+        @Override
+        public N get(Object key) {
+            return HashMapSignal.this.containsKey(key) ? mapper.apply(HashMapSignal.this.get(key)) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return HashMapSignal.this.containsKey(key);
+        }
+
+        @Override
+        public SignalLike<N> get(Supplier<? extends K> key) {
+            return cx.createMemo(() -> get(key.get()));
+        }
+
+        @Override
+        public <N1> MapSignal<K, N1> mapValues(Function<N, N1> mapper) {
+            return new View<>(this.mapper.andThen(mapper));
+        }
+
+        @Override
+        public Map<K, N> getUntracked() {
+            var untracked = new HashMap<K, N>(values.size() * 2);
+            values.forEach((key, signal) -> untracked.put(key, mapper.apply(signal.getUntracked())));
+            return Collections.unmodifiableMap(untracked);
+        }
+
+        @Override
+        public @NotNull SetSignal<K> keySetSignal() {
+            return HashMapSignal.this.keySetSignal();
+        }
+
+        @Override
+        public EffectHandle onPut(BiConsumer<K, SignalLike<N>> o) {
+            return HashMapSignal.this.onPut((k, v) -> o.accept(k, v.map(mapper)));
+        }
+
+        @Override
+        public int size() {
+            return HashMapSignal.this.size();
+        }
+
+        @Override
+        public @NotNull Set<Entry<K, N>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public @NotNull Iterator<Entry<K, N>> iterator() {
+                    var iter = HashMapSignal.this.entrySet().iterator();
+                    return new Iterator<>() {
+                        @Override
+                        public boolean hasNext() {
+                            return iter.hasNext();
+                        }
+
+                        @Override
+                        public Entry<K, N> next() {
+                            var entry = iter.next();
+                            return new SimpleImmutableEntry<>(entry.getKey(), mapper.apply(entry.getValue()));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return HashMapSignal.this.size();
+                }
+            };
+        }
+    }
+}
@@ -1,25 +1,33 @@
 package eu.nitonfx.signaling.collections;
 
+import eu.nitonfx.signaling.KeyedSignals;
 import eu.nitonfx.signaling.api.Context;
 import eu.nitonfx.signaling.api.EffectHandle;
+import eu.nitonfx.signaling.api.IntSignal;
 import eu.nitonfx.signaling.api.SetSignal;
-import eu.nitonfx.signaling.api.Signal;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 public class HashSetSignal<E> extends AbstractSet<E> implements SetSignal<E> {
     private final Set<E> set;
     private final Context cx;
-    private final Signal<Integer> size;
+    private final IntSignal size;
+    /**
+     * notifies the readers of {@link #contains(Object)} for single elements
+     */
+    private final KeyedSignals<E> membership;
     private final List<Reconciler<E>> reconcilers = new ArrayList<>();
     private interface Reconciler<T> {
         void onAdd(T element);
         void onRemove(T element);
+        void onAddAll(List<T> elements);
+        void onRemoveAll(List<T> elements);
     }
 
     public HashSetSignal(Context cx) {
@@ -29,43 +37,87 @@ public class HashSetSignal<E> extends AbstractSet<E> implements SetSignal<E> {
     private void onRemove(E signal) {
         reconcilers.forEach(it -> it.onRemove(signal));
         size.set(set.size());
+        membership.changed(signal);
     }
 
     private void onAdd(E signal) {
         reconcilers.forEach(it -> it.onAdd(signal));
         size.set(set.size());
+        membership.changed(signal);
+    }
+
+    private void onAddAll(List<E> elements) {
+        reconcilers.forEach(it -> it.onAddAll(elements));
+        size.set(set.size());
+        elements.forEach(membership::changed);
+    }
+
+    private void onRemoveAll(List<E> elements) {
+        reconcilers.forEach(it -> it.onRemoveAll(elements));
+        size.set(set.size());
+        elements.forEach(membership::changed);
     }
 
     public HashSetSignal(Context cx, Set<E> initial) {
         this.cx = cx;
+        this.membership = KeyedSignals.of(cx);
         set = new ListenableSet<>(
                 new HashSet<>(initial),
-                this::onAdd, this::onRemove
+                this::onAdd, this::onRemove,
+                this::onAddAll, this::onRemoveAll
         );
-        size = cx.createSignal(initial.size());
+        size = cx.createIntSignal(initial.size());
     }
 
     @Override
     public void clear() {
-        set.clear();
+        cx.batch(set::clear);
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        return cx.batch(() -> set.addAll(c));
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        return cx.batch(() -> set.removeAll(c));
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        return cx.batch(() -> set.retainAll(c));
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        return cx.batch(() -> set.removeIf(filter));
     }
 
     @Override
     public boolean remove(Object o) {
-        return set.remove(o);
+        if (!set.contains(o)) return false;
+        return cx.batch(() -> set.remove(o));
     }
 
     @Override
     public boolean add(E e) {
-        var changed = set.add(e);
-        if (changed)
-            size.set(set.size());
-        return changed;
+        if (set.contains(e)) return false;
+        return cx.batch(() -> set.add(e));
+    }
+
+    /**
+     * Only depends on the membership of the given element, adding or removing other elements does not notify the reader
+     */
+    @Override
+    public boolean contains(Object o) {
+        membership.track(o);
+        return set.contains(o);
     }
 
     @Override
     public Iterator<E> iterator() {
-        size.get();//this is to make sure the size signal is subscribed to
+        size.getAsInt();//this is to make sure the size signal is subscribed to
         var iter = set.iterator();
         return new Iterator<>() {
             @Override
@@ -82,7 +134,7 @@ public class HashSetSignal<E> extends AbstractSet<E> implements SetSignal<E> {
 
     @Override
     public int size() {
-        return size.get();
+        return size.getAsInt();
     }
 
     @Override
@@ -96,37 +148,44 @@ public class HashSetSignal<E> extends AbstractSet<E> implements SetSignal<E> {
         return set.iterator();
     }
 
+    /**
+     * The effects are indexed by their element, so removing an element cancels its effect in O(1)
+     * and bulk removals cost O(k) for k removed elements
+     */
     @Override
     public EffectHandle onAdd(Consumer<E> consumer) {
-        record ElementEffectHandle(EffectHandle handle, Object element) {}
-        List<ElementEffectHandle> handles = new ArrayList<>();
+        Map<E, EffectHandle> handles = new HashMap<>();
         for (var signal : set) {
-            var handle = cx.createEffect(() -> consumer.accept(signal));
-            handles.add(new ElementEffectHandle(handle, signal));
+            handles.put(signal, cx.createEffect(() -> consumer.accept(signal)));
         }
         var reconciler = new Reconciler<E>() {
             @Override
             public void onAdd(E signal) {
-                var handle = cx.createEffect(() -> consumer.accept(signal));
-                handles.add(new ElementEffectHandle(handle, signal));
+                handles.put(signal, cx.createEffect(() -> consumer.accept(signal)));
+            }
+
+            @Override
+            public void onRemove(E signal) {
+                var handle = handles.remove(signal);
+                if (handle != null) handle.cancel();
+            }
+
+            @Override
+            public void onAddAll(List<E> elements) {
+                elements.forEach(this::onAdd);
             }
 
             @Override
-            public void onRemove(E index) {
-                var element = handles.stream()
-                        .filter(handle -> handle.element.equals(index))
-                        .findFirst()
-                        .orElseThrow();
-                element.handle.cancel();
-                handles.remove(element);
+            public void onRemoveAll(List<E> elements) {
+                elements.forEach(this::onRemove);
             }
         };
         reconcilers.add(reconciler);
         final var effect = EffectHandle.of("SetOnAddEffect", () -> {
             reconcilers.remove(reconciler);
-            handles.forEach(e -> e.handle.cancel());
+            handles.values().forEach(EffectHandle::cancel);
             handles.clear();
-        }, () -> handles.stream().map(it -> "|-" + it).collect(Collectors.joining("\n")));
+        }, () -> handles.entrySet().stream().map(it -> "|-" + it).collect(Collectors.joining("\n")));
         cx.registerEffect(effect);
         return effect;
     }
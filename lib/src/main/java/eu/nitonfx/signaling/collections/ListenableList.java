@@ -4,28 +4,50 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.List;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.IntFunction;
+import java.util.function.Predicate;
 
 public class ListenableList<T> extends AbstractList<T> {
     private final List<T> backing;
     @Nullable private final Consumer<Integer> removeCallback;
     @Nullable private final BiConsumer<T,Integer> addCallback;
     @Nullable private final BiConsumer<T, Integer> setCallback;
+    @Nullable private final BiConsumer<Integer, List<T>> addAllCallback;
+    @Nullable private final Consumer<BitSet> removeAllCallback;
 
     public ListenableList(
             List<T> backing,
             @Nullable Consumer<Integer> removeCallback,
             @Nullable BiConsumer<T, Integer> addCallback,
             @Nullable BiConsumer<T, Integer> setCallback
+    ) {
+        this(backing, removeCallback, addCallback, setCallback, null, null);
+    }
+
+    /**
+     * @param addAllCallback    called once per bulk insertion with the index of the first inserted element, falls back to the addCallback per element
+     * @param removeAllCallback called once per bulk removal with the indices the removed elements had, falls back to the removeCallback per element
+     */
+    public ListenableList(
+            List<T> backing,
+            @Nullable Consumer<Integer> removeCallback,
+            @Nullable BiConsumer<T, Integer> addCallback,
+            @Nullable BiConsumer<T, Integer> setCallback,
+            @Nullable BiConsumer<Integer, List<T>> addAllCallback,
+            @Nullable Consumer<BitSet> removeAllCallback
     ) {
         this.backing = backing;
         this.removeCallback = removeCallback;
         this.addCallback = addCallback;
         this.setCallback = setCallback;
+        this.addAllCallback = addAllCallback;
+        this.removeAllCallback = removeAllCallback;
     }
 
     @Override
@@ -53,6 +75,70 @@ public class ListenableList<T> extends AbstractList<T> {
         return remove;
     }
 
+    @Override
+    public boolean addAll(int index, @NotNull Collection<? extends T> c) {
+        if (c.isEmpty()) return false;
+        List<T> added = new ArrayList<>(c);
+        backing.addAll(index, added);
+        if (addAllCallback != null) addAllCallback.accept(index, added);
+        else if (addCallback != null) {
+            for (var i = 0; i < added.size(); i++) addCallback.accept(added.get(i), index + i);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean addAll(@NotNull Collection<? extends T> c) {
+        return addAll(backing.size(), c);
+    }
+
+    /**
+     * Removes all matching elements with one compaction of the backing list.
+     * The filter is tested against every element before anything is removed, so a filter that throws leaves the list unchanged
+     */
+    @Override
+    public boolean removeIf(@NotNull Predicate<? super T> filter) {
+        var removed = new BitSet();
+        for (var i = 0; i < backing.size(); i++) {
+            if (filter.test(backing.get(i))) removed.set(i);
+        }
+        if (removed.isEmpty()) return false;
+        var kept = 0;
+        for (var i = 0; i < backing.size(); i++) {
+            if (!removed.get(i)) backing.set(kept++, backing.get(i));
+        }
+        backing.subList(kept, backing.size()).clear();
+        notifyRemoved(removed);
+        return true;
+    }
+
+    @Override
+    public boolean removeAll(@NotNull Collection<?> c) {
+        return removeIf(c::contains);
+    }
+
+    @Override
+    public boolean retainAll(@NotNull Collection<?> c) {
+        return removeIf(element -> !c.contains(element));
+    }
+
+    @Override
+    public void clear() {
+        if (backing.isEmpty()) return;
+        var removed = new BitSet();
+        removed.set(0, backing.size());
+        backing.clear();
+        notifyRemoved(removed);
+    }
+
+    private void notifyRemoved(BitSet removed) {
+        if (removeAllCallback != null) removeAllCallback.accept(removed);
+        else if (removeCallback != null) {
+            //reported from the back, so every index is valid at the time it is reported
+            for (var i = removed.previousSetBit(removed.length()); i >= 0; i = removed.previousSetBit(i - 1)) removeCallback.accept(i);
+        }
+    }
+
     @Override
     public T getFirst() {
         return backing.getFirst();
@@ -1,22 +1,44 @@
 package eu.nitonfx.signaling.collections;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.AbstractSet;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 public class ListenableSet<E> extends AbstractSet<E> {
     private final Set<E> set;
     private final Consumer<? super E> addListener;
     private final Consumer<? super E> removeListener;
+    @Nullable private final Consumer<? super List<E>> addAllListener;
+    @Nullable private final Consumer<? super List<E>> removeAllListener;
 
     public ListenableSet(Set<E> set, Consumer<? super E> addListener, Consumer<? super E> removeListener) {
+        this(set, addListener, removeListener, null, null);
+    }
+
+    /**
+     * @param addAllListener    called once per bulk insertion with the added elements, falls back to the addListener per element
+     * @param removeAllListener called once per bulk removal with the removed elements, falls back to the removeListener per element
+     */
+    public ListenableSet(
+            Set<E> set,
+            Consumer<? super E> addListener,
+            Consumer<? super E> removeListener,
+            @Nullable Consumer<? super List<E>> addAllListener,
+            @Nullable Consumer<? super List<E>> removeAllListener
+    ) {
         this.set = set;
         this.addListener = addListener;
         this.removeListener = removeListener;
+        this.addAllListener = addAllListener;
+        this.removeAllListener = removeAllListener;
     }
 
     @Override
@@ -33,6 +55,68 @@ public class ListenableSet<E> extends AbstractSet<E> {
         return ret;
     }
 
+    @Override
+    public boolean addAll(@NotNull Collection<? extends E> c) {
+        var added = new ArrayList<E>();
+        for (var element : c) {
+            if (set.add(element)) added.add(element);
+        }
+        if (added.isEmpty()) return false;
+        if (addAllListener != null) addAllListener.accept(added);
+        else added.forEach(addListener);
+        return true;
+    }
+
+    /**
+     * Removes all matching elements in one pass over the backing set
+     */
+    @Override
+    public boolean removeIf(@NotNull Predicate<? super E> filter) {
+        var removed = new ArrayList<E>();
+        for (var iterator = set.iterator(); iterator.hasNext(); ) {
+            var element = iterator.next();
+            if (filter.test(element)) {
+                iterator.remove();
+                removed.add(element);
+            }
+        }
+        notifyRemoved(removed);
+        return !removed.isEmpty();
+    }
+
+    @Override
+    public boolean removeAll(@NotNull Collection<?> c) {
+        if (c.size() >= set.size()) return removeIf(c::contains);
+        var removed = new ArrayList<E>();
+        for (var element : c) {
+            if (!set.remove(element)) continue;
+            @SuppressWarnings("unchecked") //the element was contained in the set, so it is an E
+            var removedElement = (E) element;
+            removed.add(removedElement);
+        }
+        notifyRemoved(removed);
+        return !removed.isEmpty();
+    }
+
+    @Override
+    public boolean retainAll(@NotNull Collection<?> c) {
+        return removeIf(element -> !c.contains(element));
+    }
+
+    @Override
+    public void clear() {
+        if (set.isEmpty()) return;
+        var removed = new ArrayList<>(set);
+        set.clear();
+        notifyRemoved(removed);
+    }
+
+    private void notifyRemoved(List<E> removed) {
+        if (removed.isEmpty()) return;
+        if (removeAllListener != null) removeAllListener.accept(removed);
+        else removed.forEach(removeListener);
+    }
+
     @Override
     public @NotNull Iterator<E> iterator() {
         var innerIter = set.iterator();
@@ -0,0 +1,24 @@
+package eu.nitonfx.signaling.collections;
+
+import eu.nitonfx.signaling.api.ListSignal;
+import eu.nitonfx.signaling.api.SignalLike;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A list whose rows can be keyed by a projection of its element signals,
+ * this way views that map element signals ({@link ListSignal#mapSignals(Function)}) can offer {@link ListSignal#mapKeyed(Function, BiFunction)}
+ *
+ * @param <N> the type of the elements
+ */
+interface ProjectableList<N> extends ListSignal<N> {
+
+    /**
+     * Like {@link #mapKeyed(Function, BiFunction)}, but the rows are keyed by the projected values of the elements
+     *
+     * @param projection creates the value of an element from its signal, runs once per element in a scope that lives as long as the element
+     */
+    <V, K, R> SignalLike<List<R>> mapKeyed(Function<SignalLike<N>, SignalLike<V>> projection, Function<V, K> key, BiFunction<SignalLike<V>, SignalLike<Integer>, R> mapper);
+}
@@ -1,5 +1,6 @@
 package eu.nitonfx.signaling.collections;
 
+import eu.nitonfx.signaling.KeyedSignals;
 import eu.nitonfx.signaling.api.*;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -10,32 +11,66 @@ import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
+/**
+ * A {@link MapSignal} that holds its entries in a {@link SetSignal}, lookups scan the entries so get, put and remove are O(n).
+ * Reading a single key only depends on the presence and value of that key, like in a {@link HashMapSignal}.
+ */
 public class SetMapSignal<K, V> extends AbstractMap<K, V> implements MapSignal<K, V> {
     private final SetSignal<SignalEntry<K, V>> map;
+    /**
+     * notifies the readers of {@link #get(Object)} and {@link #containsKey(Object)} when a key is added or removed
+     */
+    private final KeyedSignals<K> presence;
     private final Context cx;
+    @Nullable
     private final StackTraceElement origin;
 
-    public SetMapSignal(Context cx, StackTraceElement origin) {
+    public SetMapSignal(Context cx, @Nullable StackTraceElement origin) {
         this.cx = cx;
         map = cx.createSignal(new HashSet<>());
+        presence = KeyedSignals.of(cx);
         this.origin = origin;
     }
 
-    public SetMapSignal(Context cx, Map<K, V> initial, StackTraceElement origin) {
+    public SetMapSignal(Context cx, Map<K, V> initial, @Nullable StackTraceElement origin) {
         this.cx = cx;
         this.origin = origin;
+        presence = KeyedSignals.of(cx);
         map = cx.createSignal(initial.entrySet().stream().map(e -> (SignalEntry<K,V>)new DefaultSignalEntry<>(cx, e)).collect(Collectors.toSet()));
     }
 
     @Override
     public SignalLike<V> getSignal(K key) {
-        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(map.untrackedIterator(), Spliterator.ORDERED),false)
-                .filter(e -> e.getKey().equals(key))
-                .findFirst()
-                .map(SignalEntry::getValueSignal)
-                .orElse(null);
+        var entry = find(key);
+        return entry == null ? null : entry.getValueSignal();
+    }
+
+    /**
+     * Only depends on the presence and value of the given key, changes of other keys do not notify the reader
+     */
+    @Override
+    public V get(Object key) {
+        presence.track(key);
+        var entry = find(key);
+        return entry == null ? null : entry.getValueSignal().get();
+    }
+
+    /**
+     * Only depends on the presence of the given key, changes of other keys do not notify the reader
+     */
+    @Override
+    public boolean containsKey(Object key) {
+        presence.track(key);
+        return find(key) != null;
+    }
+
+    private @Nullable SignalEntry<K, V> find(Object key) {
+        for (var iter = map.untrackedIterator(); iter.hasNext(); ) {
+            var entry = iter.next();
+            if (Objects.equals(entry.getKey(), key)) return entry;
+        }
+        return null;
     }
 
     @Override
@@ -43,8 +78,8 @@ public class SetMapSignal<K, V> extends AbstractMap<K, V> implements MapSignal<K
         for (var iter = map.untrackedIterator();iter.hasNext();) {
             var entry = iter.next();
             if(entry.getKey().equals(key)) {
-                System.out.println("SetMapSignal.remove: found "+entry);
                 iter.remove();
+                presence.changed(entry.getKey());
                 return entry.getValueSignal().getUntracked();
             }
         }
@@ -57,8 +92,8 @@ public class SetMapSignal<K, V> extends AbstractMap<K, V> implements MapSignal<K
             var entry = iter.next();
             if(entry.getKey().equals(key)) {
                 if(!entry.getValueSignal().getUntracked().equals(value)) return false;
-                System.out.println("SetMapSignal.remove: found "+entry);
                 iter.remove();
+                presence.changed(entry.getKey());
                 return true;
             }
         }
@@ -137,13 +172,28 @@ public class SetMapSignal<K, V> extends AbstractMap<K, V> implements MapSignal<K
             return old;
         } else {
             map.add(new DefaultSignalEntry<>(key, cx.createSignal(value)));
+            presence.changed(key);
             return null;
         }
     }
 
+    /**
+     * Writes the values of existing keys and adds all new entries to the entry set at once, within one batch.
+     * The entries are indexed by key once, so the keys of {@code m} are looked up in O(1).
+     */
     @Override
     public void putAll(@NotNull Map<? extends K, ? extends V> m) {
-        m.forEach(this::put);
+        cx.batch(() -> {
+            var entries = new HashMap<K, SignalEntry<K, V>>();
+            map.untrackedIterator().forEachRemaining(entry -> entries.put(entry.getKey(), entry));
+            var added = new ArrayList<SignalEntry<K, V>>();
+            m.forEach((key, value) -> {
+                if (entries.get(key) instanceof SignalEntry<K, V> entry && entry.getValueSignal() instanceof Signal<V> existing) existing.set(value);
+                else added.add(new DefaultSignalEntry<>(key, cx.createSignal((V) value)));
+            });
+            map.addAll(added);
+            added.forEach(entry -> presence.changed(entry.getKey()));
+        });
     }
 
     @Override
@@ -153,7 +203,21 @@ public class SetMapSignal<K, V> extends AbstractMap<K, V> implements MapSignal<K
 
     @Override
     public void clear() {
-        map.clear();
+        cx.batch(() -> {
+            var removed = map.getUntracked().stream().map(Entry::getKey).toList();
+            map.clear();
+            removed.forEach(presence::changed);
+        });
+    }
+
+    /**
+     * Follows the contract of {@link Map#hashCode()}, the entries hash by their signal to stay in place within the entry set
+     */
+    @Override
+    public int hashCode() {
+        var hash = 0;
+        for (var entry : entrySet()) hash += Objects.hashCode(entry.getKey()) ^ Objects.hashCode(entry.getValue());
+        return hash;
     }
 
     @Override
@@ -172,23 +236,15 @@ public class SetMapSignal<K, V> extends AbstractMap<K, V> implements MapSignal<K
         return map.map(Entry::getKey);
     }
 
+    /**
+     * Overwriting the value of a key writes to the signal of its entry, so only additions of new keys create an effect
+     */
     @Override
     public EffectHandle onPut(BiConsumer<K, SignalLike<V>> o) {
-        Map<K, EffectHandle> handles = new HashMap<>();
-        map.getUntracked().forEach(it -> handles.put(it.getKey(), cx.createEffect(() -> o.accept(it.getKey(), it.getValueSignal()))));
-        map.onAdd((e) -> {
-            var oldHandle = handles.put(e.getKey(), cx.createEffect(() -> o.accept(e.getKey(), e.getValueSignal())));
-            if (oldHandle != null) oldHandle.cancel();
-        });
-        var effect = EffectHandle.of("MapOnPutEffect", () -> {
-            handles.forEach((k, e) -> e.cancel());
-            handles.clear();
-        }, () -> handles.values().stream().map(it -> "|-" + it).collect(Collectors.joining("\n")));
-        cx.registerEffect(effect);
-        return effect;
+        return map.onAdd(e -> o.accept(e.getKey(), e.getValueSignal()));
     }
 
-    public StackTraceElement getOrigin() {
+    public @Nullable StackTraceElement getOrigin() {
         return origin;
     }
 
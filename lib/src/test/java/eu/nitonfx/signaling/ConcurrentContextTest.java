@@ -0,0 +1,125 @@
+package eu.nitonfx.signaling;
+
+import eu.nitonfx.signaling.api.Context;
+import eu.nitonfx.signaling.api.ContextTest;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class ConcurrentContextTest extends ContextTest {
+    private static final int THREADS = 8;
+
+    protected Context init() {
+        return new ConcurrentContext();
+    }
+
+    @Test
+    void batchedIncrementsFromManyThreadsAreNotLost() throws InterruptedException {
+        var cx = init();
+        var count = cx.createIntSignal(0);
+        try (var executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int i = 0; i < THREADS; i++) {
+                executor.execute(() -> {
+                    for (int j = 0; j < 1000; j++) {
+                        cx.batch(() -> count.set(count.getAsIntUntracked() + 1));
+                    }
+                });
+            }
+        }
+        assertThat(count.getAsInt()).isEqualTo(THREADS * 1000);
+    }
+
+    @Test
+    void effectRunsOncePerWriteFromAnyThread() {
+        var cx = init();
+        var value = cx.createIntSignal(0);
+        var doubled = cx.createIntMemo(() -> value.getAsInt() * 2);
+        List<Integer> seen = new ArrayList<>();
+        cx.createEffect(() -> seen.add(doubled.getAsInt()));
+        try (var executor = Executors.newFixedThreadPool(THREADS)) {
+            IntStream.rangeClosed(1, 100).forEach(i -> executor.execute(() -> value.set(i)));
+        }
+        assertThat(seen).hasSize(101).doesNotHaveDuplicates();
+        assertThat(seen.getLast()).isEqualTo(doubled.getAsInt());
+    }
+
+    @Test
+    void readsDoNotWaitForRunningEffects() throws InterruptedException {
+        var cx = init();
+        var trigger = cx.createIntSignal(0);
+        var other = cx.createSignal("value");
+        var memo = cx.createMemo(() -> other.get().length());
+        memo.get();
+        var entered = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        cx.createEffect(() -> {
+            if (trigger.getAsInt() == 0) return;
+            entered.countDown();
+            awaitUninterruptibly(release);
+        });
+        var writer = Thread.ofPlatform().start(() -> trigger.set(1));
+        entered.await();
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            assertThat(other.get()).isEqualTo("value");
+            assertThat(memo.get()).isEqualTo(5);
+        });
+        release.countDown();
+        writer.join();
+    }
+
+    @Test
+    void readsOnOtherThreadsAreNotTrackedByRunningEffect() throws InterruptedException {
+        var cx = init();
+        var trigger = cx.createIntSignal(0);
+        var unrelated = cx.createSignal("a");
+        var runs = new AtomicInteger();
+        var entered = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        cx.createEffect(() -> {
+            runs.incrementAndGet();
+            if (trigger.getAsInt() == 0) return;
+            entered.countDown();
+            awaitUninterruptibly(release);
+        });
+        var writer = Thread.ofPlatform().start(() -> trigger.set(1));
+        entered.await();
+        unrelated.get();
+        release.countDown();
+        writer.join();
+
+        unrelated.set("b");
+        assertThat(runs).hasValue(2);
+    }
+
+    @Test
+    void resourceWritesResultOnCompletingThread() throws InterruptedException {
+        var cx = init();
+        var key = cx.createSignal("a");
+        var resource = cx.createResource(key::get, k -> CompletableFuture.supplyAsync(() -> k + "!"), Runnable::run);
+        var fetched = new CountDownLatch(1);
+        cx.createEffect(() -> {
+            if ("a!".equals(resource.value().get())) fetched.countDown();
+        });
+        assertThat(fetched.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(resource.loading().getAsBoolean()).isFalse();
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
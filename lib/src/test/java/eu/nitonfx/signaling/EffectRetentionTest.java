@@ -0,0 +1,160 @@
+package eu.nitonfx.signaling;
+
+import eu.nitonfx.signaling.api.Options;
+import eu.nitonfx.signaling.api.SignalLike;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EffectRetentionTest {
+    private final SetStackContext weak = new SetStackContext(Options.defaults().withEffectRetention(Options.EffectRetention.WEAK).withLiveEffectTracking(true));
+    private final SetStackContext strong = new SetStackContext(Options.defaults().withLiveEffectTracking(true));
+
+    @Test
+    void unreferencedWeakEffectIsCollectedAndPruned() {
+        var source = (AbstractMutableSignal<Integer>) weak.createSignal(1);
+        var runs = new AtomicInteger();
+        var effect = effectOn(weak, source, runs);
+        awaitCollected(effect);
+        source.set(2);
+        assertThat(runs).hasValue(1);
+        assertThat(source.isObserved()).isFalse();
+    }
+
+    @Test
+    void referencedWeakEffectKeepsRunning() {
+        var source = weak.createSignal(1);
+        var runs = new AtomicInteger();
+        var effect = weak.createEffect(() -> {
+            source.get();
+            runs.incrementAndGet();
+        });
+        collectGarbage();
+        source.set(2);
+        assertThat(runs).hasValue(2);
+        assertThat(effect).isNotNull();
+    }
+
+    @Test
+    void memoIsDetachedAfterItsWeakEffectWasCollected() {
+        var source = (AbstractMutableSignal<Integer>) weak.createSignal(1);
+        var memo = weak.createMemo(() -> source.get() * 2);
+        var effect = effectOn(weak, memo, new AtomicInteger());
+        awaitCollected(effect);
+        source.set(2);
+        assertThat(source.isObserved()).isFalse();
+    }
+
+    @Test
+    void strongEffectIsNotCollected() {
+        var source = strong.createSignal(1);
+        var runs = new AtomicInteger();
+        var effect = effectOn(strong, source, runs);
+        collectGarbage();
+        assertThat(effect.get()).isNotNull();
+        source.set(2);
+        assertThat(runs).hasValue(2);
+    }
+
+    @Test
+    void selectorFollowsSourceAfterGarbageCollection() {
+        var selection = weak.createSignal(1);
+        var isSelected = weak.createSelector(selection);
+        var runs = new AtomicInteger();
+        var effect = weak.createEffect(() -> {
+            isSelected.test(2);
+            runs.incrementAndGet();
+        });
+        for (int i = 0; i < 5; i++) collectGarbage();
+        selection.set(2);
+        assertThat(runs).hasValue(2);
+        assertThat(isSelected.test(2)).isTrue();
+        assertThat(effect).isNotNull();
+    }
+
+    @Test
+    void resourceFetchesChangedKeyAfterGarbageCollection() throws InterruptedException {
+        var key = weak.createSignal("a");
+        BlockingQueue<Runnable> ownerTasks = new LinkedBlockingQueue<>();
+        var resource = weak.createResource(key::get, k -> CompletableFuture.completedFuture(k + "!"), ownerTasks::add);
+        runOwnerTask(ownerTasks);
+        assertThat(resource.value().get()).isEqualTo("a!");
+        for (int i = 0; i < 5; i++) collectGarbage();
+        key.set("b");
+        runOwnerTask(ownerTasks);
+        assertThat(resource.value().get()).isEqualTo("b!");
+    }
+
+    @Test
+    void liveEffectsAreCountedPerCreationSite() {
+        var source = strong.createSignal(1);
+        for (int i = 0; i < 3; i++) strong.createEffect(source::get);
+        var other = strong.createEffect(source::get);
+        var report = strong.liveEffects();
+        assertThat(report.values()).containsExactly(3, 1);
+        assertThat(report.keySet()).allMatch(site -> site.contains("EffectRetentionTest"));
+        other.cancel();
+        assertThat(strong.liveEffects().values()).containsExactly(3);
+    }
+
+    @Test
+    void collectedEffectsAreNotLive() {
+        var source = weak.createSignal(1);
+        var effect = effectOn(weak, source, new AtomicInteger());
+        awaitCollected(effect);
+        assertThat(weak.liveEffects()).isEmpty();
+    }
+
+    @Test
+    void liveEffectsRequireTracking() {
+        var cx = new SetStackContext();
+        assertThatThrownBy(cx::liveEffects).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void liveEffectsWithoutDebugMetadataHaveUnknownSite() {
+        var cx = new SetStackContext(Options.production().withLiveEffectTracking(true));
+        var source = cx.createSignal(1);
+        cx.createEffect(source::get);
+        assertThat(cx.liveEffects()).containsExactly(Map.entry("unknown", 1));
+    }
+
+    /**
+     * Creates the effect in a separate frame, so no local variable of the test keeps it alive
+     */
+    private static WeakReference<?> effectOn(SetStackContext cx, SignalLike<Integer> signal, AtomicInteger runs) {
+        return new WeakReference<>(cx.createEffect(() -> {
+            signal.get();
+            runs.incrementAndGet();
+        }));
+    }
+
+    private static void runOwnerTask(BlockingQueue<Runnable> ownerTasks) throws InterruptedException {
+        var task = ownerTasks.poll(5, TimeUnit.SECONDS);
+        assertThat(task).as("result was delivered").isNotNull();
+        task.run();
+    }
+
+    private static void awaitCollected(WeakReference<?> reference) {
+        for (int i = 0; i < 50 && reference.get() != null; i++) collectGarbage();
+        assertThat(reference.get()).as("effect was garbage collected").isNull();
+    }
+
+    private static void collectGarbage() {
+        System.gc();
+        try {
+            Thread.sleep(10);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
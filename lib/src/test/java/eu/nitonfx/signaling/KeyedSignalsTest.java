@@ -0,0 +1,118 @@
+package eu.nitonfx.signaling;
+
+import eu.nitonfx.signaling.api.Context;
+import eu.nitonfx.signaling.api.EffectHandle;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class KeyedSignalsTest {
+    private final SetStackContext cx = new SetStackContext();
+    private final KeyedSignals<String> keyed = new KeyedSignals<>(cx);
+
+    @Test
+    void onlyReadersOfChangedKeyRerun() {
+        var runs = new AtomicInteger();
+        cx.createEffect(() -> {
+            keyed.track("a");
+            runs.incrementAndGet();
+        });
+        keyed.changed("b");
+        assertThat(runs).hasValue(1);
+        keyed.changed("a");
+        assertThat(runs).hasValue(2);
+    }
+
+    @Test
+    void untrackedReadsCreateNoSignal() {
+        keyed.track("a");
+        cx.untracked(() -> keyed.track("b"));
+        assertThat(keyed.isTracked("a")).isFalse();
+        assertThat(keyed.isTracked("b")).isFalse();
+    }
+
+    @Test
+    void signalIsReleasedWhenLastReaderIsCancelled() {
+        var first = cx.createEffect(() -> keyed.track("a"));
+        var second = cx.createEffect(() -> keyed.track("a"));
+        first.cancel();
+        assertThat(keyed.isTracked("a")).isTrue();
+        second.cancel();
+        assertThat(keyed.isTracked("a")).isFalse();
+    }
+
+    @Test
+    void signalIsReleasedWhenReaderStopsReadingKey() {
+        var key = cx.createSignal("a");
+        cx.createEffect(() -> keyed.track(key.get()));
+        key.set("b");
+        assertThat(keyed.isTracked("a")).isFalse();
+        assertThat(keyed.isTracked("b")).isTrue();
+    }
+
+    @Test
+    void nullKeyIsTracked() {
+        var runs = new AtomicInteger();
+        cx.createEffect(() -> {
+            keyed.track(null);
+            runs.incrementAndGet();
+        });
+        keyed.changed(null);
+        assertThat(runs).hasValue(2);
+    }
+
+    @Test
+    void unsubscribedMemoSeesChangesAfterSweep() {
+        var version = new AtomicInteger();
+        var memo = cx.createMemo(() -> {
+            for (var i = 0; i < 100; i++) keyed.track("key" + i);
+            return version.get();
+        });
+        assertThat(memo.get()).isZero();
+        assertThat(keyed.isTracked("key0")).isTrue();
+        keyed.changed("other");
+        assertThat(keyed.isTracked("key0")).isFalse();
+        version.set(1);
+        keyed.changed("key0");
+        assertThat(memo.get()).isEqualTo(1);
+    }
+
+    @Test
+    void otherContextsNotifyReadersOfAnyKey() {
+        var other = mock(Context.class);
+        when(other.createLongSignal(0)).thenAnswer(it -> cx.createLongSignal(0));
+        KeyedSignals<String> shared = KeyedSignals.of(other);
+        var runs = new AtomicInteger();
+        cx.createEffect(() -> {
+            shared.track("a");
+            runs.incrementAndGet();
+        });
+        shared.changed("b");
+        assertThat(runs).hasValue(2);
+    }
+
+    @Test
+    void signalReadOnAnotherThreadIsNotReleased() throws InterruptedException {
+        var concurrent = new ConcurrentContext();
+        var shared = new KeyedSignals<String>(concurrent);
+        var runs = new AtomicInteger();
+        var readers = new ArrayList<EffectHandle>();
+        var cancelling = Thread.ofPlatform().start(() -> {
+            for (var i = 0; i < 20_000; i++) concurrent.createEffect(() -> shared.track("a")).cancel();
+        });
+        for (var i = 0; i < 2_000; i++) {
+            readers.add(concurrent.createEffect(() -> {
+                shared.track("a");
+                runs.incrementAndGet();
+            }));
+        }
+        cancelling.join();
+        shared.changed("a");
+        assertThat(runs).hasValue(2 * readers.size());
+    }
+}
@@ -0,0 +1,33 @@
+package eu.nitonfx.signaling;
+
+import eu.nitonfx.signaling.api.Options;
+import eu.nitonfx.signaling.collections.ArraySignalList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SetStackContextDebugMetadataTest {
+
+    @ParameterizedTest
+    @EnumSource(value = Options.DebugMetadata.class, names = {"LAZY", "FULL"})
+    void originIsTheCallerOfTheContext(Options.DebugMetadata debugMetadata) {
+        var cx = new SetStackContext(Options.defaults().withDebugMetadata(debugMetadata));
+        var list = (ArraySignalList<Object>) cx.createListSignal();
+        var memo = cx.createMemo(() -> 1);
+        var effect = cx.createEffect(() -> {});
+        assertThat(list.getOrigin().getMethodName()).isEqualTo("originIsTheCallerOfTheContext");
+        assertThat(memo.toString()).contains("originIsTheCallerOfTheContext");
+        assertThat(effect.toString()).contains("originIsTheCallerOfTheContext");
+    }
+
+    @Test
+    void noOriginWhenOff() {
+        var cx = new SetStackContext(Options.production());
+        var list = (ArraySignalList<Object>) cx.createListSignal();
+        var effect = cx.createEffect(() -> {});
+        assertThat(list.getOrigin()).isNull();
+        assertThat(effect.toString()).isEqualTo("Effect");
+    }
+}
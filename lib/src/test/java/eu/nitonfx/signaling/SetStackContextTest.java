@@ -2,9 +2,31 @@ package eu.nitonfx.signaling;
 
 import eu.nitonfx.signaling.api.Context;
 import eu.nitonfx.signaling.api.ContextTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 class SetStackContextTest extends ContextTest {
     protected Context init(){
         return new SetStackContext();
     }
-}
\ No newline at end of file
+
+    @Test
+    void resourceCreatedOutsideOfEffectsFetches() throws InterruptedException {
+        var cx = Context.create();
+        var key = cx.createSignal("a");
+        BlockingQueue<Runnable> ownerTasks = new LinkedBlockingQueue<>();
+        var resource = cx.createResource(key::get, k -> CompletableFuture.completedFuture(k + "!"), ownerTasks::add);
+        Objects.requireNonNull(ownerTasks.poll(5, TimeUnit.SECONDS)).run();
+        assertThat(resource.value().get()).isEqualTo("a!");
+        key.set("b");
+        Objects.requireNonNull(ownerTasks.poll(5, TimeUnit.SECONDS)).run();
+        assertThat(resource.value().get()).isEqualTo("b!");
+    }
+}
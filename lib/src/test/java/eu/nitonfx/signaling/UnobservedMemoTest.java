@@ -0,0 +1,53 @@
+package eu.nitonfx.signaling;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UnobservedMemoTest {
+    private final SetStackContext cx = new SetStackContext();
+
+    @Test
+    void memoReadOutsideOfEffectsDoesNotSubscribe() {
+        var source = (AbstractMutableSignal<Integer>) cx.createSignal(1);
+        var memo = cx.createMemo(() -> source.get() * 2);
+        memo.get();
+        assertThat(source.isObserved()).isFalse();
+    }
+
+    @Test
+    void memoDetachesWhenLastEffectIsCancelled() {
+        var source = (AbstractMutableSignal<Integer>) cx.createSignal(1);
+        var memo = cx.createMemo(() -> source.get() * 2);
+        var first = cx.createEffect(memo::get);
+        var second = cx.createEffect(memo::get);
+        assertThat(source.isObserved()).isTrue();
+        first.cancel();
+        assertThat(source.isObserved()).isTrue();
+        second.cancel();
+        assertThat(source.isObserved()).isFalse();
+    }
+
+    @Test
+    void chainOfMemosDetachesTransitively() {
+        var source = (AbstractMutableSignal<Integer>) cx.createSignal(1);
+        var doubled = cx.createMemo(() -> source.get() * 2);
+        var quadrupled = cx.createMemo(() -> doubled.get() * 2);
+        var effect = cx.createEffect(quadrupled::get);
+        assertThat(source.isObserved()).isTrue();
+        effect.cancel();
+        assertThat(source.isObserved()).isFalse();
+    }
+
+    @Test
+    void memoNoLongerReadIsDetached() {
+        var condition = cx.createSignal(true);
+        var source = (AbstractMutableSignal<Integer>) cx.createSignal(1);
+        var memo = cx.createMemo(() -> source.get() * 2);
+        cx.createEffect(() -> {
+            if (condition.get()) memo.get();
+        });
+        condition.set(false);
+        assertThat(source.isObserved()).isFalse();
+    }
+}
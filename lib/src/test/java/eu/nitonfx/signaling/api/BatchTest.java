@@ -0,0 +1,119 @@
+package eu.nitonfx.signaling.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.*;
+
+public abstract class BatchTest {
+    abstract Context createContext();
+
+    @Test
+    void effectRunsOnceForMultipleWrites() {
+        Consumer<Integer> consumer = mock();
+        var cx = createContext();
+        var a = cx.createSignal(0);
+        var b = cx.createSignal(0);
+        cx.createEffect(() -> consumer.accept(a.get() + b.get()));
+        cx.batch(() -> {
+            a.set(1);
+            b.set(2);
+            a.set(3);
+        });
+        verify(consumer).accept(0);
+        verify(consumer).accept(5);
+        verifyNoMoreInteractions(consumer);
+    }
+
+    @Test
+    void effectsAreDeferredUntilBatchExits() {
+        Consumer<Integer> consumer = mock();
+        var cx = createContext();
+        var count = cx.createSignal(0);
+        cx.createEffect(() -> consumer.accept(count.get()));
+        cx.batch(() -> {
+            count.set(1);
+            verify(consumer, never()).accept(1);
+        });
+        verify(consumer).accept(1);
+    }
+
+    @Test
+    void nestedBatchesFlushOnOutermostExit() {
+        Consumer<Integer> consumer = mock();
+        var cx = createContext();
+        var count = cx.createSignal(0);
+        cx.createEffect(() -> consumer.accept(count.get()));
+        cx.batch(() -> {
+            cx.batch(() -> count.set(1));
+            verify(consumer, never()).accept(1);
+            count.set(2);
+        });
+        verify(consumer).accept(0);
+        verify(consumer).accept(2);
+        verifyNoMoreInteractions(consumer);
+    }
+
+    @Test
+    void returnsValue() {
+        var cx = createContext();
+        var count = cx.createSignal(0);
+        var result = cx.batch(() -> {
+            count.set(4);
+            return count.getUntracked() * 2;
+        });
+        assertThat(result).isEqualTo(8);
+    }
+
+    @Test
+    void readsInsideBatchSeeLatestValues() {
+        var cx = createContext();
+        var count = cx.createSignal(1);
+        var doubled = cx.createMemo(() -> count.get() * 2);
+        cx.createEffect(doubled::get);
+        cx.batch(() -> {
+            count.set(5);
+            assertThat(doubled.getUntracked()).isEqualTo(10);
+        });
+    }
+
+    @Test
+    void memoRecalculatedOnce() {
+        Runnable onCalculate = mock();
+        Consumer<Integer> consumer = mock();
+        var cx = createContext();
+        var a = cx.createSignal(1);
+        var b = cx.createSignal(1);
+        var sum = cx.createMemo(() -> {
+            onCalculate.run();
+            return a.get() + b.get();
+        });
+        cx.createEffect(() -> consumer.accept(sum.get()));
+        cx.batch(() -> {
+            a.set(2);
+            b.set(3);
+        });
+        verify(onCalculate, times(2)).run();
+        verify(consumer).accept(2);
+        verify(consumer).accept(5);
+        verifyNoMoreInteractions(consumer);
+    }
+
+    @Test
+    void flushesWhenBatchThrows() {
+        Consumer<Integer> consumer = mock();
+        var cx = createContext();
+        var count = cx.createSignal(0);
+        cx.createEffect(() -> consumer.accept(count.get()));
+        assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> cx.batch(() -> {
+            count.set(3);
+            throw new IllegalStateException("failed mid batch");
+        }));
+        verify(consumer).accept(3);
+        count.set(4);
+        verify(consumer).accept(4);
+    }
+}
@@ -1,8 +1,11 @@
 package eu.nitonfx.signaling.api;
 
+import eu.nitonfx.signaling.collections.SetMapSignal;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 
+import java.util.Map;
+
 @DisplayName("Context")
 public abstract class ContextTest {
 
@@ -23,6 +26,26 @@ public abstract class ContextTest {
         }
     }
 
+    @Nested
+    @DisplayName("createSignal()")
+    class CreateSignal extends SignalTest {
+
+        @Override
+        Context createContext() {
+            return ContextTest.this.init();
+        }
+    }
+
+    @Nested
+    @DisplayName("primitive signals")
+    class PrimitiveSignals extends PrimitiveSignalTest {
+
+        @Override
+        Context createContext() {
+            return ContextTest.this.init();
+        }
+    }
+
     @Nested
     @DisplayName("createEffect()")
     class CreateEffect extends UseEffectTest {
@@ -42,6 +65,86 @@ public abstract class ContextTest {
         }
     }
 
+    @Nested
+    @DisplayName("batch()")
+    class Batch extends BatchTest {
+
+        @Override
+        Context createContext() {
+            return ContextTest.this.init();
+        }
+    }
+
+    @Nested
+    @DisplayName("createMailbox()")
+    class CreateMailbox extends MailboxTest {
+
+        @Override
+        Context createContext() {
+            return ContextTest.this.init();
+        }
+    }
+
+    @Nested
+    @DisplayName("createResource()")
+    class CreateResource extends ResourceTest {
+
+        @Override
+        Context createContext() {
+            return ContextTest.this.init();
+        }
+    }
+
+    @Nested
+    @DisplayName("scheduling")
+    class Scheduling extends SchedulingTest {
+
+        @Override
+        Context createContext() {
+            return ContextTest.this.init();
+        }
+    }
+
+    @Nested
+    @DisplayName("createMapSignal()")
+    class CreateMapSignal extends MapSignalTest {
+
+        @Override
+        MapSignal<String, Integer> init(Context cx, Map<String, Integer> initial) {
+            return initial.isEmpty() ? cx.createMapSignal() : cx.createSignal(initial);
+        }
+
+        @Override
+        Context createContext() {
+            return ContextTest.this.init();
+        }
+    }
+
+    @Nested
+    @DisplayName("SetMapSignal")
+    class SetBackedMapSignal extends MapSignalTest {
+
+        @Override
+        MapSignal<String, Integer> init(Context cx, Map<String, Integer> initial) {
+            return new SetMapSignal<>(cx, initial, null);
+        }
+
+        @Override
+        Context createContext() {
+            return ContextTest.this.init();
+        }
+    }
+
+    @Nested
+    @DisplayName("createSelector()")
+    class CreateSelector extends SelectorTest {
+
+        @Override
+        Context createContext() {
+            return ContextTest.this.init();
+        }
+    }
+
     @Nested
     @DisplayName("createListSignal()")
     class CreateListSignal extends ListSignalTest {
@@ -74,4 +177,34 @@ class ContextStaticTest {
             return Context.global;
         }
     }
+
+    @Nested
+    @DisplayName("createConcurrent()")
+    class CreateConcurrent extends ContextTest {
+
+        @Override
+        protected Context init() {
+            return Context.createConcurrent();
+        }
+    }
+
+    @Nested
+    @DisplayName("create(production)")
+    class CreateProduction extends ContextTest {
+
+        @Override
+        protected Context init() {
+            return Context.create(Options.production());
+        }
+    }
+
+    @Nested
+    @DisplayName("create(lazy debug metadata)")
+    class CreateLazyDebugMetadata extends ContextTest {
+
+        @Override
+        protected Context init() {
+            return Context.create(Options.defaults().withDebugMetadata(Options.DebugMetadata.LAZY));
+        }
+    }
 }
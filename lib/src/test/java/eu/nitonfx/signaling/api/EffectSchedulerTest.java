@@ -0,0 +1,225 @@
+package eu.nitonfx.signaling.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.*;
+
+class EffectSchedulerTest {
+    private final List<Runnable> tasks = new ArrayList<>();
+
+    private void runTasks() {
+        var pending = List.copyOf(tasks);
+        tasks.clear();
+        pending.forEach(Runnable::run);
+    }
+
+    @Test
+    void synchronousRunsEffectsBeforeWriteReturns() {
+        Consumer<String> consumer = mock();
+        var cx = Context.create(EffectScheduler.synchronous());
+        var signal = cx.createSignal("a");
+        cx.createEffect(() -> consumer.accept(signal.get()));
+        signal.set("b");
+        verify(consumer).accept("a");
+        verify(consumer).accept("b");
+    }
+
+    @Test
+    void executorRunsEffectsWhenTaskRuns() {
+        Consumer<String> consumer = mock();
+        var cx = Context.create(EffectScheduler.executor(tasks::add));
+        var signal = cx.createSignal("a");
+        cx.createEffect(() -> consumer.accept(signal.get()));
+        verifyNoInteractions(consumer);
+        runTasks();
+        verify(consumer).accept("a");
+        signal.set("b");
+        verifyNoMoreInteractions(consumer);
+        runTasks();
+        verify(consumer).accept("b");
+    }
+
+    @Test
+    void executorFlushesMultipleWritesOnce() {
+        Consumer<String> consumer = mock();
+        var cx = Context.create(EffectScheduler.executor(tasks::add));
+        var signal = cx.createSignal("a");
+        cx.createEffect(() -> consumer.accept(signal.get()));
+        runTasks();
+        signal.set("b");
+        signal.set("c");
+        assertThat(tasks).hasSize(1);
+        runTasks();
+        verify(consumer, never()).accept("b");
+        verify(consumer).accept("c");
+    }
+
+    @Test
+    void synchronousRunsRemainingEffectsWhenEffectThrows() {
+        var cx = Context.create(EffectScheduler.synchronous());
+        var signal = cx.createSignal(0);
+        Consumer<Integer> consumer = mock();
+        cx.createEffect(() -> {
+            if (signal.get() == 1) throw new IllegalStateException("failing effect");
+        });
+        cx.createEffect(() -> consumer.accept(signal.get()));
+        assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> signal.set(1));
+        verify(consumer).accept(1);
+    }
+
+    @Test
+    void executorReschedulesRemainingEffectsWhenEffectThrows() {
+        var cx = Context.create(EffectScheduler.executor(tasks::add));
+        var signal = cx.createSignal(0);
+        Consumer<Integer> consumer = mock();
+        cx.createEffect(() -> {
+            if (signal.get() == 1) throw new IllegalStateException("failing effect");
+        });
+        cx.createEffect(() -> consumer.accept(signal.get()));
+        runTasks();
+        signal.set(1);
+        var flush = tasks.removeFirst();
+        assertThatExceptionOfType(IllegalStateException.class).isThrownBy(flush::run);
+        assertThat(tasks).hasSize(1);
+        runTasks();
+        verify(consumer).accept(1);
+    }
+
+    @Test
+    void executorOnOtherThreadIsThreadSafe() throws InterruptedException {
+        var executor = Executors.newSingleThreadExecutor();
+        try {
+            var cx = Context.create(EffectScheduler.executor(executor));
+            var signal = cx.createSignal(0);
+            var done = new CountDownLatch(1);
+            var writes = 10_000;
+            cx.createEffect(() -> {
+                if (signal.get() == writes) done.countDown();
+            });
+            for (int i = 1; i <= writes; i++) signal.set(i);
+            assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void readsAreUpToDateBeforeFlush() {
+        var cx = Context.create(EffectScheduler.executor(tasks::add));
+        var signal = cx.createSignal(1);
+        var doubled = cx.createMemo(() -> signal.get() * 2);
+        cx.createEffect(doubled::get);
+        runTasks();
+        signal.set(2);
+        assertThat(doubled.get()).isEqualTo(4);
+    }
+
+    @Test
+    void synchronousRunsEffectsOfOtherContextNested() {
+        var log = runEffectWritingOtherContext(EffectScheduler.synchronous());
+        assertThat(log).containsExactly("outer start", "inner", "outer end");
+    }
+
+    @Test
+    void microtaskRunsEffectsOfOtherContextAfterOuterFlush() {
+        var log = runEffectWritingOtherContext(EffectScheduler.microtask());
+        assertThat(log).containsExactly("outer start", "outer end", "inner");
+    }
+
+    @Test
+    void synchronousRunsEffectsAfterEveryWriteOfOperation() {
+        assertThat(writeTwiceInOneOperation(EffectScheduler.synchronous())).hasValue(3);
+    }
+
+    @Test
+    void microtaskRunsEffectsOnceAfterOperation() {
+        assertThat(writeTwiceInOneOperation(EffectScheduler.microtask())).hasValue(2);
+    }
+
+    @Test
+    void microtaskDefersEffectsOfOtherContextUntilBatchEnds() {
+        var outer = Context.create(EffectScheduler.microtask());
+        var inner = Context.create(EffectScheduler.microtask());
+        var signal = inner.createSignal(0);
+        var runs = new AtomicInteger();
+        inner.createEffect(() -> {
+            signal.get();
+            runs.incrementAndGet();
+        });
+        outer.batch(() -> {
+            signal.set(1);
+            signal.set(2);
+            assertThat(runs).hasValue(1);
+        });
+        assertThat(runs).hasValue(2);
+    }
+
+    /**
+     * Writes two signals that one effect depends on at the top level of an untracked block
+     *
+     * @return the runs of the effect
+     */
+    private AtomicInteger writeTwiceInOneOperation(EffectScheduler scheduler) {
+        var cx = Context.create(scheduler);
+        var first = cx.createSignal(0);
+        var second = cx.createSignal(0);
+        var runs = new AtomicInteger();
+        cx.createEffect(() -> {
+            first.get();
+            second.get();
+            runs.incrementAndGet();
+        });
+        cx.untracked(() -> {
+            first.set(1);
+            second.set(1);
+        });
+        return runs;
+    }
+
+    private List<String> runEffectWritingOtherContext(EffectScheduler scheduler) {
+        var outer = Context.create(scheduler);
+        var inner = Context.create(scheduler);
+        var trigger = outer.createSignal(0);
+        var target = inner.createSignal(0);
+        var log = new ArrayList<String>();
+        inner.createEffect(() -> {
+            if (target.get() > 0) log.add("inner");
+        });
+        outer.createEffect(() -> {
+            if (trigger.get() == 0) return;
+            log.add("outer start");
+            target.set(trigger.get());
+            log.add("outer end");
+        });
+        trigger.set(1);
+        return log;
+    }
+
+    @Test
+    void virtualThreadsRunEffectsOnVirtualThread() throws InterruptedException {
+        var cx = Context.createConcurrent(Options.defaults().withEffectScheduler(EffectScheduler.virtualThreads()));
+        var signal = cx.createSignal(0);
+        var initialRun = new CountDownLatch(1);
+        var rerun = new CountDownLatch(1);
+        var virtual = new ArrayList<Boolean>();
+        cx.createEffect(() -> {
+            var value = signal.get();
+            virtual.add(Thread.currentThread().isVirtual());
+            (value == 0 ? initialRun : rerun).countDown();
+        });
+        assertThat(initialRun.await(5, TimeUnit.SECONDS)).isTrue();
+        signal.set(1);
+        assertThat(rerun.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(virtual).containsExactly(true, true);
+    }
+}
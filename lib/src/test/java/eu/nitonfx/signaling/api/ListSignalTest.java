@@ -2,9 +2,16 @@ package eu.nitonfx.signaling.api;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 public abstract class ListSignalTest {
@@ -24,4 +31,336 @@ public abstract class ListSignalTest {
         verify(cleanup).accept("A");
         verify(cleanup).accept("B");
     }
+
+    private record Row(String key, SignalLike<String> value, SignalLike<Integer> index) {
+    }
+
+    @Test
+    void mapKeyedReusesRowsWhenReordered() {
+        var cx = createContext();
+        var list = cx.createSignal(List.of("C", "A", "B"));
+        var created = new ArrayList<String>();
+        List<SignalLike<List<Row>>> rows = new ArrayList<>();
+        cx.run(() -> rows.add(list.mapKeyed(it -> it, (value, index) -> {
+            created.add(value.get());
+            return new Row(value.get(), value, index);
+        })));
+        assertThat(rows.getFirst().get()).extracting(Row::key).containsExactly("C", "A", "B");
+        var before = rows.getFirst().get();
+
+        cx.batch(() -> list.sort(Comparator.naturalOrder()));
+
+        var after = rows.getFirst().get();
+        assertThat(created).containsExactly("C", "A", "B");
+        assertThat(after).extracting(Row::key).containsExactly("A", "B", "C");
+        assertThat(after).containsExactlyInAnyOrderElementsOf(before);
+        assertThat(after).extracting(row -> row.index().get()).containsExactly(0, 1, 2);
+    }
+
+    @Test
+    void mapKeyedKeysEveryElementOnceOnCreation() {
+        var cx = createContext();
+        var list = cx.createSignal(List.of("A", "B", "C"));
+        var keyed = new AtomicInteger();
+        cx.run(() -> list.mapKeyed(it -> {
+            keyed.incrementAndGet();
+            return it;
+        }, (value, index) -> value.get()));
+        assertThat(keyed).hasValue(3);
+    }
+
+    @Test
+    void mapKeyedUpdatesIndexOfShiftedRows() {
+        var cx = createContext();
+        var list = cx.createSignal(List.of("A", "B"));
+        Consumer<String> indexObserver = mock();
+        cx.run(() -> list.mapKeyed(it -> it, (value, index) -> {
+            cx.createEffect(() -> indexObserver.accept(value.get() + index.get()));
+            return value.get();
+        }));
+        list.addFirst("Z");
+        verify(indexObserver).accept("A1");
+        verify(indexObserver).accept("B2");
+        verify(indexObserver).accept("Z0");
+    }
+
+    @Test
+    void mapKeyedDisposesOnlyRowsOfRemovedKeys() {
+        var cx = createContext();
+        var list = cx.createSignal(List.of("A", "B", "C"));
+        Consumer<String> cleanup = mock();
+        cx.run(() -> list.mapKeyed(it -> it, (value, index) -> {
+            var key = value.get();
+            cx.cleanup(() -> cleanup.accept(key));
+            return key;
+        }));
+        list.remove("B");
+        verify(cleanup).accept("B");
+        verifyNoMoreInteractions(cleanup);
+    }
+
+    @Test
+    void mapKeyedUpdatesValueOfRowWithSameKey() {
+        var cx = createContext();
+        var list = cx.createSignal(List.of("a1", "b1"));
+        var created = new ArrayList<String>();
+        List<SignalLike<List<Row>>> rows = new ArrayList<>();
+        cx.run(() -> rows.add(list.mapKeyed(it -> it.charAt(0), (value, index) -> {
+            created.add(value.get());
+            return new Row(value.get(), value, index);
+        })));
+        list.set(0, "a2");
+        assertThat(created).containsExactly("a1", "b1");
+        assertThat(rows.getFirst().get().getFirst().value().get()).isEqualTo("a2");
+    }
+
+    @Test
+    void mapKeyedKeepsRowsForDuplicateKeys() {
+        var cx = createContext();
+        var list = cx.createSignal(List.of("A", "A"));
+        List<SignalLike<List<Row>>> rows = new ArrayList<>();
+        cx.run(() -> rows.add(list.mapKeyed(it -> it, (value, index) -> new Row(value.get(), value, index))));
+        var first = rows.getFirst().get();
+        list.add("A");
+        var second = rows.getFirst().get();
+        assertThat(second).hasSize(3).startsWith(first.toArray(Row[]::new));
+        list.removeFirst();
+        assertThat(rows.getFirst().get()).hasSize(2).allMatch(second::contains);
+    }
+
+    @Test
+    void mapKeyedDisposesRowsWithOwner() {
+        var cx = createContext();
+        var list = cx.createSignal(List.of("A", "B"));
+        Consumer<String> cleanup = mock();
+        var owner = cx.run(() -> list.mapKeyed(it -> it, (value, index) -> {
+            var key = value.get();
+            cx.cleanup(() -> cleanup.accept(key));
+            return key;
+        }));
+        owner.cancel();
+        verify(cleanup).accept("A");
+        verify(cleanup).accept("B");
+        list.add("C");
+        verifyNoMoreInteractions(cleanup);
+    }
+
+    @Test
+    void mapKeyedOfMapSignalsKeysByMappedValue() {
+        var cx = createContext();
+        var list = cx.createSignal(List.of("C", "A", "B"));
+        var lowerCase = list.mapSignals(value -> value.get().toLowerCase());
+        var created = new ArrayList<String>();
+        List<SignalLike<List<Row>>> rows = new ArrayList<>();
+        cx.run(() -> rows.add(lowerCase.mapKeyed(it -> it, (value, index) -> {
+            created.add(value.get());
+            return new Row(value.get(), value, index);
+        })));
+        assertThat(rows.getFirst().get()).extracting(Row::key).containsExactly("c", "a", "b");
+
+        cx.batch(() -> list.sort(Comparator.naturalOrder()));
+
+        assertThat(created).containsExactly("c", "a", "b");
+        assertThat(rows.getFirst().get()).extracting(Row::key).containsExactly("a", "b", "c");
+        assertThat(rows.getFirst().get()).extracting(row -> row.index().get()).containsExactly(0, 1, 2);
+    }
+
+    @Test
+    void mapKeyedOfMapSignalsMapsNewElementsOnly() {
+        var cx = createContext();
+        var list = cx.createSignal(List.of("A", "B"));
+        var mapped = new ArrayList<String>();
+        var lowerCase = list.mapSignals(value -> {
+            mapped.add(value.get());
+            return value.get().toLowerCase();
+        });
+        Consumer<String> cleanup = mock();
+        cx.run(() -> lowerCase.mapKeyed(it -> it, (value, index) -> {
+            var key = value.get();
+            cx.cleanup(() -> cleanup.accept(key));
+            return key;
+        }));
+        list.add("C");
+        list.remove("A");
+        assertThat(mapped).containsExactly("A", "B", "C");
+        verify(cleanup).accept("a");
+        verifyNoMoreInteractions(cleanup);
+    }
+
+    @Test
+    void setAllKeepsSignalsOfUnchangedElements() {
+        var cx = createContext();
+        var list = cx.createSignal(List.of("A", "B", "C"));
+        var a = list.getSignal(0);
+        var c = list.getSignal(2);
+        list.setAll(List.of("A", "X", "B", "C"));
+        assertThat(list.getUntracked()).containsExactly("A", "X", "B", "C");
+        assertThat(list.getSignal(0)).isSameAs(a);
+        assertThat(list.getSignal(3)).isSameAs(c);
+    }
+
+    @Test
+    void setAllWritesReplacedElementsToExistingSignals() {
+        var cx = createContext();
+        var list = cx.createSignal(List.of("A", "B", "C"));
+        var b = list.getSignal(1);
+        list.setAll(List.of("A", "X", "C"));
+        assertThat(list.getSignal(1)).isSameAs(b);
+        assertThat(b.get()).isEqualTo("X");
+    }
+
+    @Test
+    void setAllOnlyAddsAndRemovesChangedElements() {
+        var cx = createContext();
+        var list = cx.createSignal(List.of("A", "B", "C"));
+        Consumer<String> added = mock();
+        Consumer<String> cleanup = mock();
+        cx.run(() -> list.onAdd((value, index) -> {
+            var element = value.get();
+            added.accept(element);
+            cx.cleanup(() -> cleanup.accept(element));
+        }));
+        list.setAll(List.of("A", "C", "D"));
+        verify(added).accept("D");
+        verify(added, times(4)).accept(any());
+        verify(cleanup).accept("B");
+        verifyNoMoreInteractions(cleanup);
+    }
+
+    @Test
+    void setAllRerunsDependentEffectsOnce() {
+        var cx = createContext();
+        var list = cx.createSignal(List.of("A", "B", "C"));
+        Consumer<List<String>> consumer = mock();
+        cx.createEffect(() -> consumer.accept(List.copyOf(list)));
+        list.setAll(List.of("D", "B", "E", "F"));
+        verify(consumer).accept(List.of("D", "B", "E", "F"));
+        verify(consumer, times(2)).accept(any());
+    }
+
+    @Test
+    void setAllProducesTargetContents() {
+        var cx = createContext();
+        var random = new Random(42);
+        var list = cx.<Integer>createListSignal();
+        for (var round = 0; round < 200; round++) {
+            var target = IntStream.range(0, random.nextInt(30)).mapToObj(__ -> random.nextInt(10)).toList();
+            list.setAll(target);
+            assertThat(list.getUntracked()).isEqualTo(target);
+        }
+    }
+
+    @Test
+    void setAllReplacesCompletelyDifferentContents() {
+        var cx = createContext();
+        var list = cx.createSignal(IntStream.range(0, 3000).boxed().toList());
+        var replacement = IntStream.range(5000, 7000).boxed().toList();
+        list.setAll(replacement);
+        assertThat(list.getUntracked()).isEqualTo(replacement);
+    }
+
+    @Test
+    void setAllReversesLargeList() {
+        var cx = createContext();
+        var elements = IntStream.range(0, 3000).boxed().toList();
+        var list = cx.createSignal(elements);
+        list.setAll(elements.reversed());
+        assertThat(list.getUntracked()).isEqualTo(elements.reversed());
+    }
+
+    @Test
+    void addAllRerunsSizeEffectOnce() {
+        var cx = createContext();
+        var list = cx.<String>createListSignal();
+        Consumer<Integer> consumer = mock();
+        cx.createEffect(() -> consumer.accept(list.size()));
+        list.addAll(List.of("A", "B", "C"));
+        verify(consumer).accept(3);
+        verify(consumer, times(2)).accept(anyInt());
+    }
+
+    @Test
+    void addAllInsertsOnAddEffectsAtIndex() {
+        var cx = createContext();
+        var list = cx.createSignal(List.of("A", "D"));
+        Consumer<String> added = mock();
+        Consumer<String> cleanup = mock();
+        cx.run(() -> list.onAdd((value, index) -> {
+            var element = value.get();
+            added.accept(element + index);
+            cx.cleanup(() -> cleanup.accept(element));
+        }));
+        list.addAll(1, List.of("B", "C"));
+        assertThat(list.getUntracked()).containsExactly("A", "B", "C", "D");
+        verify(added).accept("B1");
+        verify(added).accept("C2");
+        list.remove(2);
+        verify(cleanup).accept("C");
+        verifyNoMoreInteractions(cleanup);
+    }
+
+    @Test
+    void removeIfCancelsOnAddEffectsOfRemovedElements() {
+        var cx = createContext();
+        var list = cx.createSignal(List.of("A", "bb", "C", "dd"));
+        Consumer<String> cleanup = mock();
+        Consumer<Integer> size = mock();
+        cx.run(() -> list.onAdd((value, index) -> {
+            var element = value.get();
+            cx.cleanup(() -> cleanup.accept(element));
+        }));
+        cx.createEffect(() -> size.accept(list.size()));
+        list.removeIf(element -> element.length() == 2);
+        assertThat(list.getUntracked()).containsExactly("A", "C");
+        verify(cleanup).accept("bb");
+        verify(cleanup).accept("dd");
+        verifyNoMoreInteractions(cleanup);
+        verify(size, times(2)).accept(anyInt());
+        list.remove(1);
+        verify(cleanup).accept("C");
+    }
+
+    @Test
+    void removeIfWithThrowingFilterLeavesListUnchanged() {
+        var cx = createContext();
+        var list = cx.createSignal(List.of("aa", "B", "cc", "D"));
+        Consumer<String> cleanup = mock();
+        cx.run(() -> list.onAdd((value, index) -> {
+            var element = value.get();
+            cx.cleanup(() -> cleanup.accept(element));
+        }));
+        assertThatThrownBy(() -> list.removeIf(element -> {
+            if (element.equals("cc")) throw new IllegalStateException("filter failed");
+            return element.length() == 2;
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(list.getUntracked()).containsExactly("aa", "B", "cc", "D");
+        assertThat(list).containsExactly("aa", "B", "cc", "D");
+        verifyNoInteractions(cleanup);
+    }
+
+    @Test
+    void clearCancelsAllOnAddEffects() {
+        var cx = createContext();
+        var list = cx.createSignal(List.of("A", "B"));
+        Consumer<String> cleanup = mock();
+        cx.run(() -> list.onAdd((value, index) -> {
+            var element = value.get();
+            cx.cleanup(() -> cleanup.accept(element));
+        }));
+        list.clear();
+        assertThat(list.getUntracked()).isEmpty();
+        verify(cleanup).accept("A");
+        verify(cleanup).accept("B");
+    }
+
+    @Test
+    void sortRerunsDependentEffectOnce() {
+        var cx = createContext();
+        var list = cx.createSignal(List.of("C", "A", "B"));
+        Consumer<List<String>> consumer = mock();
+        cx.createEffect(() -> consumer.accept(List.copyOf(list)));
+        list.sort(Comparator.naturalOrder());
+        verify(consumer).accept(List.of("A", "B", "C"));
+        verify(consumer, times(2)).accept(any());
+    }
 }
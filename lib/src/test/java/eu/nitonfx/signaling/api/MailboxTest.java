@@ -0,0 +1,132 @@
+package eu.nitonfx.signaling.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public abstract class MailboxTest {
+    abstract Context createContext();
+
+    private final List<Runnable> ownerTasks = new ArrayList<>();
+
+    private void runOwnerTasks() {
+        var tasks = List.copyOf(ownerTasks);
+        ownerTasks.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    @Test
+    void postedWriteIsAppliedByOwner() {
+        var cx = createContext();
+        var signal = cx.createSignal("a");
+        var mailbox = cx.createMailbox(ownerTasks::add);
+        mailbox.post(signal, "b");
+        assertThat(signal.get()).isEqualTo("a");
+        runOwnerTasks();
+        assertThat(signal.get()).isEqualTo("b");
+    }
+
+    @Test
+    void onlyOneDrainIsScheduledForMultiplePosts() {
+        var cx = createContext();
+        var signal = cx.createSignal("a");
+        var mailbox = cx.createMailbox(ownerTasks::add);
+        mailbox.post(signal, "b");
+        mailbox.post(signal, "c");
+        assertThat(ownerTasks).hasSize(1);
+        runOwnerTasks();
+        mailbox.post(signal, "d");
+        assertThat(ownerTasks).hasSize(1);
+    }
+
+    @Test
+    void drainedWritesRunEffectsOnce() {
+        Consumer<String> consumer = mock();
+        var cx = createContext();
+        var first = cx.createSignal("a");
+        var second = cx.createSignal("b");
+        var mailbox = cx.createMailbox(ownerTasks::add);
+        cx.createEffect(() -> consumer.accept(first.get() + second.get()));
+        mailbox.post(first, "c");
+        mailbox.post(second, "d");
+        runOwnerTasks();
+        verify(consumer).accept("ab");
+        verify(consumer).accept("cd");
+        verifyNoMoreInteractions(consumer);
+    }
+
+    @Test
+    void writesAreAppliedInPostingOrder() {
+        var cx = createContext();
+        Signal<Integer> signal = mock();
+        var mailbox = cx.createMailbox(ownerTasks::add);
+        mailbox.post(signal, 1);
+        mailbox.post(signal, 2);
+        mailbox.post(signal, 3);
+        assertThat(mailbox.drain()).isEqualTo(3);
+        var order = inOrder(signal);
+        order.verify(signal).set(1);
+        order.verify(signal).set(2);
+        order.verify(signal).set(3);
+    }
+
+    @Test
+    void latestWinsOnlyWritesNewestValue() {
+        var cx = createContext();
+        Signal<Integer> signal = mock();
+        Signal<Integer> other = mock();
+        var mailbox = cx.createLatestWinsMailbox(ownerTasks::add);
+        mailbox.post(signal, 1);
+        mailbox.post(other, 1);
+        mailbox.post(signal, 2);
+        mailbox.post(signal, 3);
+        assertThat(mailbox.drain()).isEqualTo(2);
+        verify(signal).set(3);
+        verify(other).set(1);
+        verifyNoMoreInteractions(signal, other);
+    }
+
+    @Test
+    void postAfterLatestWinsDrainIsWrittenAgain() {
+        var cx = createContext();
+        var signal = cx.createSignal(0);
+        var mailbox = cx.createLatestWinsMailbox(ownerTasks::add);
+        mailbox.post(signal, 1);
+        runOwnerTasks();
+        mailbox.post(signal, 2);
+        runOwnerTasks();
+        assertThat(signal.get()).isEqualTo(2);
+    }
+
+    @Test
+    void drainWithoutPostsDoesNothing() {
+        var cx = createContext();
+        var mailbox = cx.createMailbox(ownerTasks::add);
+        assertThat(mailbox.drain()).isZero();
+    }
+
+    @Test
+    void postsFromManyThreadsAreAllApplied() throws Exception {
+        var cx = createContext();
+        var signals = new ArrayList<IntSignal>();
+        for (int i = 0; i < 8; i++) signals.add(cx.createIntSignal(0));
+        try (var owner = Executors.newSingleThreadExecutor()) {
+            var mailbox = cx.createMailbox(owner);
+            try (var producers = Executors.newFixedThreadPool(signals.size())) {
+                for (var signal : signals) {
+                    producers.execute(() -> {
+                        for (int i = 1; i <= 1000; i++) mailbox.post(signal, i);
+                    });
+                }
+            }
+            owner.submit(mailbox::drain).get();
+        }
+        assertThat(signals).allSatisfy(signal -> assertThat(signal.getAsInt()).isEqualTo(1000));
+    }
+}
@@ -0,0 +1,226 @@
+package eu.nitonfx.signaling.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public abstract class MapSignalTest {
+    abstract Context createContext();
+
+    abstract MapSignal<String, Integer> init(Context cx, Map<String, Integer> initial);
+
+    @Test
+    void putReturnsPreviousValue() {
+        var cx = createContext();
+        var map = init(cx, Map.of());
+        assertThat(map.put("a", 1)).isNull();
+        assertThat(map.put("a", 2)).isEqualTo(1);
+        assertThat(map.get("a")).isEqualTo(2);
+        assertThat(map).hasSize(1);
+    }
+
+    @Test
+    void removeReturnsValue() {
+        var cx = createContext();
+        var map = init(cx, Map.of("a", 1, "b", 2));
+        assertThat(map.remove("a")).isEqualTo(1);
+        assertThat(map.remove("a")).isNull();
+        assertThat(map.getUntracked()).isEqualTo(Map.of("b", 2));
+    }
+
+    @Test
+    void equalsPlainMap() {
+        var cx = createContext();
+        var map = init(cx, Map.of("a", 1, "b", 2));
+        assertThat(map).isEqualTo(new HashMap<>(Map.of("a", 1, "b", 2)));
+        assertThat(map.hashCode()).isEqualTo(Map.of("a", 1, "b", 2).hashCode());
+    }
+
+    @Test
+    void getIsTrackedForValueChanges() {
+        var cx = createContext();
+        var map = init(cx, Map.of());
+        map.put("a", 1);
+        Consumer<Integer> consumer = mock();
+        cx.createEffect(() -> consumer.accept(map.get("a")));
+        map.put("a", 2);
+        verify(consumer).accept(1);
+        verify(consumer).accept(2);
+    }
+
+    @Test
+    void getIsTrackedForAbsentKeys() {
+        var cx = createContext();
+        var map = init(cx, Map.of());
+        Consumer<Integer> consumer = mock();
+        cx.createEffect(() -> consumer.accept(map.get("a")));
+        map.put("a", 1);
+        verify(consumer).accept(null);
+        verify(consumer).accept(1);
+        map.remove("a");
+        verify(consumer, times(2)).accept(null);
+    }
+
+    @Test
+    void containsKeyIsTracked() {
+        var cx = createContext();
+        var map = init(cx, Map.of());
+        Consumer<Boolean> consumer = mock();
+        cx.createEffect(() -> consumer.accept(map.containsKey("a")));
+        map.put("a", 1);
+        verify(consumer).accept(false);
+        verify(consumer).accept(true);
+    }
+
+    @Test
+    void sizeIsTracked() {
+        var cx = createContext();
+        var map = init(cx, Map.of());
+        Consumer<Integer> consumer = mock();
+        cx.createEffect(() -> consumer.accept(map.size()));
+        map.put("a", 1);
+        map.put("a", 2);
+        map.put("b", 1);
+        verify(consumer).accept(0);
+        verify(consumer).accept(1);
+        verify(consumer).accept(2);
+        verify(consumer, times(3)).accept(anyInt());
+    }
+
+    @Test
+    void getWithReactiveKeyFollowsKeyAndValue() {
+        var cx = createContext();
+        var map = init(cx, Map.of("a", 1, "b", 2));
+        var key = cx.createSignal("a");
+        var value = map.get(key);
+        Consumer<Integer> consumer = mock();
+        cx.createEffect(() -> consumer.accept(value.get()));
+        key.set("b");
+        map.put("b", 3);
+        verify(consumer).accept(1);
+        verify(consumer).accept(2);
+        verify(consumer).accept(3);
+    }
+
+    @Test
+    void putAllRerunsDependentEffectsOnce() {
+        var cx = createContext();
+        var map = init(cx, Map.of());
+        map.put("a", 1);
+        Consumer<Map<String, Integer>> consumer = mock();
+        cx.createEffect(() -> consumer.accept(Map.copyOf(map)));
+        map.putAll(Map.of("a", 2, "b", 3, "c", 4));
+        verify(consumer).accept(Map.of("a", 2, "b", 3, "c", 4));
+        verify(consumer, times(2)).accept(any());
+    }
+
+    @Test
+    void clearRemovesAllEntries() {
+        var cx = createContext();
+        var map = init(cx, Map.of("a", 1, "b", 2));
+        Consumer<Integer> consumer = mock();
+        cx.createEffect(() -> consumer.accept(map.size()));
+        map.clear();
+        assertThat(map.getUntracked()).isEmpty();
+        verify(consumer).accept(0);
+    }
+
+    @Test
+    void onPutIsCalledForNewKeysAndCleanedOnRemoval() {
+        var cx = createContext();
+        var map = init(cx, Map.of("a", 1));
+        BiConsumer<String, Integer> put = mock();
+        Consumer<String> cleanup = mock();
+        cx.run(() -> map.onPut((key, value) -> {
+            put.accept(key, value.get());
+            cx.cleanup(() -> cleanup.accept(key));
+        }));
+        map.put("b", 2);
+        verify(put).accept("a", 1);
+        verify(put).accept("b", 2);
+        map.remove("a");
+        verify(cleanup).accept("a");
+        verifyNoMoreInteractions(cleanup);
+    }
+
+    @Test
+    void onPutIsNotRecreatedForOverwrittenKeys() {
+        var cx = createContext();
+        var map = init(cx, Map.of("a", 1));
+        Consumer<String> cleanup = mock();
+        Consumer<Integer> value = mock();
+        cx.run(() -> map.onPut((key, signal) -> {
+            cx.cleanup(() -> cleanup.accept(key));
+            cx.createEffect(() -> value.accept(signal.get()));
+        }));
+        map.put("a", 2);
+        verify(value).accept(1);
+        verify(value).accept(2);
+        verifyNoInteractions(cleanup);
+    }
+
+    @Test
+    void mapValuesReflectsChanges() {
+        var cx = createContext();
+        var map = init(cx, Map.of());
+        var doubled = map.mapValues(value -> value * 2);
+        map.put("a", 1);
+        assertThat(doubled.get("a")).isEqualTo(2);
+        assertThat(doubled.get("b")).isNull();
+        assertThat(doubled.getUntracked()).isEqualTo(Map.of("a", 2));
+        assertThat(doubled).isEqualTo(Map.of("a", 2));
+        BiConsumer<String, Integer> put = mock();
+        cx.run(() -> doubled.onPut((key, signal) -> put.accept(key, signal.get())));
+        map.put("b", 2);
+        verify(put).accept(eq("b"), eq(4));
+    }
+
+    @Test
+    void getOnlyRerunsForChangesOfReadKey() {
+        var cx = createContext();
+        var map = init(cx, Map.of());
+        map.put("a", 1);
+        Consumer<Integer> consumer = mock();
+        cx.createEffect(() -> consumer.accept(map.get("a")));
+        map.put("b", 2);
+        map.put("b", 3);
+        map.remove("b");
+        verify(consumer, times(1)).accept(any());
+        map.remove("a");
+        verify(consumer).accept(null);
+    }
+
+    @Test
+    void containsKeyOnlyRerunsForChangesOfReadKey() {
+        var cx = createContext();
+        var map = init(cx, Map.of());
+        Consumer<Boolean> consumer = mock();
+        cx.createEffect(() -> consumer.accept(map.containsKey("a")));
+        map.put("b", 1);
+        map.put("a", 1);
+        map.put("a", 2);
+        verify(consumer).accept(false);
+        verify(consumer).accept(true);
+        verify(consumer, times(2)).accept(any());
+    }
+
+    @Test
+    void clearNotifiesReadersOfRemovedKeys() {
+        var cx = createContext();
+        var map = init(cx, Map.of("a", 1, "b", 2));
+        Consumer<Integer> consumer = mock();
+        cx.createEffect(() -> consumer.accept(map.get("a")));
+        map.clear();
+        verify(consumer).accept(1);
+        verify(consumer).accept(null);
+    }
+}
@@ -0,0 +1,113 @@
+package eu.nitonfx.signaling.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public abstract class PrimitiveSignalTest {
+    abstract Context createContext();
+
+    @Test
+    void intSignalNotifiesEffects() {
+        IntConsumer consumer = mock();
+        var cx = createContext();
+        var signal = cx.createIntSignal(1);
+        cx.createEffect(() -> consumer.accept(signal.getAsInt()));
+        signal.set(2);
+        verify(consumer).accept(1);
+        verify(consumer).accept(2);
+    }
+
+    @Test
+    void intSignalIgnoresEqualWrites() {
+        IntConsumer consumer = mock();
+        var cx = createContext();
+        var signal = cx.createIntSignal(1);
+        cx.createEffect(() -> consumer.accept(signal.getAsInt()));
+        var version = signal.version();
+        signal.set(1);
+        verify(consumer, times(1)).accept(1);
+        assertThat(signal.version()).isEqualTo(version);
+    }
+
+    @Test
+    void boxedAccessIsEquivalent() {
+        Consumer<Integer> consumer = mock();
+        var cx = createContext();
+        var signal = cx.createIntSignal(1);
+        cx.createEffect(() -> consumer.accept(signal.get()));
+        signal.set(Integer.valueOf(2));
+        verify(consumer).accept(2);
+        assertThat(signal.getAsIntUntracked()).isEqualTo(2);
+    }
+
+    @Test
+    void longSignal() {
+        var cx = createContext();
+        var signal = cx.createLongSignal(1L);
+        signal.set(Long.MAX_VALUE);
+        assertThat(signal.getAsLongUntracked()).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void doubleSignalTreatsNaNAsEqual() {
+        var cx = createContext();
+        var signal = cx.createDoubleSignal(Double.NaN);
+        var version = signal.version();
+        signal.set(Double.NaN);
+        assertThat(signal.version()).isEqualTo(version);
+        signal.set(0.5);
+        assertThat(signal.getAsDoubleUntracked()).isEqualTo(0.5);
+    }
+
+    @Test
+    void booleanSignal() {
+        Consumer<Boolean> consumer = mock();
+        var cx = createContext();
+        var signal = cx.createBooleanSignal(false);
+        cx.createEffect(() -> consumer.accept(signal.getAsBoolean()));
+        signal.set(true);
+        signal.set(true);
+        verify(consumer, times(1)).accept(true);
+    }
+
+    @Test
+    void intMemoRecalculatesOnChange() {
+        IntConsumer consumer = mock();
+        var cx = createContext();
+        var signal = cx.createIntSignal(2);
+        var doubled = cx.createIntMemo(() -> signal.getAsInt() * 2);
+        cx.createEffect(() -> consumer.accept(doubled.getAsInt()));
+        signal.set(3);
+        verify(consumer).accept(4);
+        verify(consumer).accept(6);
+    }
+
+    @Test
+    void booleanMemoStopsPropagationForSameResult() {
+        Consumer<Boolean> consumer = mock();
+        var cx = createContext();
+        var signal = cx.createLongSignal(1);
+        var isOdd = cx.createBooleanMemo(() -> signal.getAsLong() % 2 == 1);
+        cx.createEffect(() -> consumer.accept(isOdd.getAsBoolean()));
+        signal.set(3);
+        verify(consumer, times(1)).accept(true);
+        signal.set(4);
+        verify(consumer).accept(false);
+    }
+
+    @Test
+    void primitiveMemoCanDependOnMemo() {
+        var cx = createContext();
+        var signal = cx.createDoubleSignal(1.5);
+        var rounded = cx.createLongMemo(() -> Math.round(signal.getAsDouble()));
+        var half = cx.createDoubleMemo(() -> rounded.getAsLong() / 2.0);
+        assertThat(half.getAsDoubleUntracked()).isEqualTo(1.0);
+        signal.set(3.6);
+        assertThat(half.getAsDoubleUntracked()).isEqualTo(2.0);
+    }
+}
@@ -0,0 +1,155 @@
+package eu.nitonfx.signaling.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public abstract class ResourceTest {
+    abstract Context createContext();
+
+    private record Request(String key, CompletableFuture<String> future) {
+    }
+
+    private final BlockingQueue<Request> requests = new LinkedBlockingQueue<>();
+    private final BlockingQueue<Runnable> ownerTasks = new LinkedBlockingQueue<>();
+    private final Function<String, CompletableFuture<String>> fetcher = key -> {
+        var future = new CompletableFuture<String>();
+        requests.add(new Request(key, future));
+        return future;
+    };
+
+    private Request nextRequest() throws InterruptedException {
+        var request = requests.poll(5, TimeUnit.SECONDS);
+        assertThat(request).as("fetcher was called").isNotNull();
+        return request;
+    }
+
+    private void runOwnerTask() throws InterruptedException {
+        var task = ownerTasks.poll(5, TimeUnit.SECONDS);
+        assertThat(task).as("result was delivered").isNotNull();
+        task.run();
+    }
+
+    @Test
+    void fetchesValueOfKey() throws InterruptedException {
+        var cx = createContext();
+        var key = cx.createSignal("a");
+        var resource = cx.createResource(key::get, fetcher, ownerTasks::add);
+        assertThat(resource.loading().getAsBoolean()).isTrue();
+        assertThat(resource.value().get()).isNull();
+        var request = nextRequest();
+        assertThat(request.key()).isEqualTo("a");
+        request.future().complete("A");
+        runOwnerTask();
+        assertThat(resource.value().get()).isEqualTo("A");
+        assertThat(resource.loading().getAsBoolean()).isFalse();
+        assertThat(resource.error().get()).isNull();
+    }
+
+    @Test
+    void changedKeyCancelsRequestInFlight() throws InterruptedException {
+        var cx = createContext();
+        var key = cx.createSignal("a");
+        var resource = cx.createResource(key::get, fetcher, ownerTasks::add);
+        var first = nextRequest();
+        key.set("b");
+        var second = nextRequest();
+        assertThat(first.future()).isCancelled();
+        assertThat(second.key()).isEqualTo("b");
+        second.future().complete("B");
+        runOwnerTask();
+        assertThat(resource.value().get()).isEqualTo("B");
+    }
+
+    @Test
+    void equalKeyIsNotFetchedAgain() throws InterruptedException {
+        var cx = createContext();
+        var number = cx.createSignal(1);
+        cx.createResource(() -> number.get() < 10 ? "small" : "large", fetcher, ownerTasks::add);
+        var first = nextRequest();
+        number.set(2);
+        assertThat(requests.poll(100, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(first.future()).isNotCancelled();
+    }
+
+    @Test
+    void failedFetchSetsError() throws InterruptedException {
+        var cx = createContext();
+        var key = cx.createSignal("a");
+        var resource = cx.createResource(key::get, fetcher, ownerTasks::add);
+        var failure = new IOException("offline");
+        nextRequest().future().completeExceptionally(failure);
+        runOwnerTask();
+        assertThat(resource.error().get()).isSameAs(failure);
+        assertThat(resource.loading().getAsBoolean()).isFalse();
+        assertThat(resource.value().get()).isNull();
+    }
+
+    @Test
+    void throwingFetcherSetsError() throws InterruptedException {
+        var cx = createContext();
+        var failure = new IllegalStateException("no connection");
+        var resource = cx.createResource(() -> "a", key -> {
+            throw failure;
+        }, ownerTasks::add);
+        runOwnerTask();
+        assertThat(resource.error().get()).isSameAs(failure);
+    }
+
+    @Test
+    void outdatedResultIsDropped() throws InterruptedException {
+        var cx = createContext();
+        var key = cx.createSignal("a");
+        var resource = cx.createResource(key::get, fetcher, ownerTasks::add);
+        nextRequest().future().complete("A");
+        var delivery = ownerTasks.poll(5, TimeUnit.SECONDS);
+        assertThat(delivery).isNotNull();
+        key.set("b");
+        delivery.run();
+        assertThat(resource.value().get()).isNull();
+        assertThat(resource.loading().getAsBoolean()).isTrue();
+    }
+
+    @Test
+    void nullKeyFetchesNothing() throws InterruptedException {
+        var cx = createContext();
+        Signal<String> key = cx.createNullSignal();
+        var resource = cx.createResource(key::get, fetcher, ownerTasks::add);
+        assertThat(requests.poll(100, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(resource.loading().getAsBoolean()).isFalse();
+    }
+
+    @Test
+    void effectsSeeFetchedValue() throws InterruptedException {
+        var cx = createContext();
+        var key = cx.createSignal("a");
+        var resource = cx.createResource(key::get, fetcher, ownerTasks::add);
+        var seen = new StringBuilder();
+        cx.createEffect(() -> seen.append(resource.loading().getAsBoolean() ? "loading;" : resource.value().get() + ";"));
+        nextRequest().future().complete("A");
+        runOwnerTask();
+        assertThat(seen).hasToString("loading;A;");
+    }
+
+    @Test
+    void cancelStopsFetching() throws InterruptedException {
+        var cx = createContext();
+        var key = cx.createSignal("a");
+        var resource = cx.createResource(key::get, fetcher, ownerTasks::add);
+        var request = nextRequest();
+        resource.cancel();
+        //the cancellation reaches the fetched future on the fetching thread
+        assertThat(request.future()).failsWithin(Duration.ofSeconds(5)).withThrowableOfType(CancellationException.class);
+        key.set("b");
+        assertThat(requests.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+}
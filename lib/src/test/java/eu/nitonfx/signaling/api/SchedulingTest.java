@@ -0,0 +1,152 @@
+package eu.nitonfx.signaling.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public abstract class SchedulingTest {
+    abstract Context createContext();
+
+    @Test
+    void diamondRunsEffectOnce() {
+        Consumer<String> consumer = mock();
+        Runnable leftCalc = mock();
+        Runnable rightCalc = mock();
+        var cx = createContext();
+        var source = cx.createSignal(1);
+        var left = cx.createMemo(() -> {
+            leftCalc.run();
+            return source.get() + 1;
+        });
+        var right = cx.createMemo(() -> {
+            rightCalc.run();
+            return source.get() * 2;
+        });
+        cx.createEffect(() -> consumer.accept(left.get() + ":" + right.get()));
+        source.set(2);
+        source.set(5);
+        verify(consumer).accept("2:2");
+        verify(consumer).accept("3:4");
+        verify(consumer).accept("6:10");
+        verifyNoMoreInteractions(consumer);
+        verify(leftCalc, times(3)).run();
+        verify(rightCalc, times(3)).run();
+    }
+
+    @Test
+    void diamondWithDirectAndDerivedDependency() {
+        Consumer<String> consumer = mock();
+        var cx = createContext();
+        var source = cx.createSignal(1);
+        var doubled = cx.createMemo(() -> source.get() * 2);
+        cx.createEffect(() -> consumer.accept(source.get() + ":" + doubled.get()));
+        source.set(3);
+        verify(consumer).accept("1:2");
+        verify(consumer).accept("3:6");
+        verifyNoMoreInteractions(consumer);
+    }
+
+    @Test
+    void wideFanInRunsEffectOncePerBatch() {
+        Consumer<Integer> consumer = mock();
+        Runnable sumCalc = mock();
+        var cx = createContext();
+        var signals = new ArrayList<Signal<Integer>>();
+        for (int i = 0; i < 100; i++) signals.add(cx.createSignal(0));
+        var sum = cx.createMemo(() -> {
+            sumCalc.run();
+            return signals.stream().mapToInt(Signal::get).sum();
+        });
+        cx.createEffect(() -> consumer.accept(sum.get()));
+        cx.batch(() -> signals.forEach(signal -> signal.set(1)));
+        verify(consumer).accept(0);
+        verify(consumer).accept(100);
+        verifyNoMoreInteractions(consumer);
+        verify(sumCalc, times(2)).run();
+    }
+
+    @Test
+    void deepChainRecalculatesEachMemoOnce() {
+        Consumer<Integer> consumer = mock();
+        Runnable calc = mock();
+        var cx = createContext();
+        var source = cx.createSignal(0);
+        SignalLike<Integer> chain = source;
+        for (int i = 0; i < 50; i++) {
+            var previous = chain;
+            chain = cx.createMemo(() -> {
+                calc.run();
+                return previous.get() + 1;
+            });
+        }
+        var end = chain;
+        cx.createEffect(() -> consumer.accept(end.get()));
+        verify(calc, times(50)).run();
+        source.set(10);
+        verify(consumer).accept(50);
+        verify(consumer).accept(60);
+        verifyNoMoreInteractions(consumer);
+        verify(calc, times(100)).run();
+    }
+
+    @Test
+    void effectsRunInDependencyOrder() {
+        var cx = createContext();
+        var order = new ArrayList<String>();
+        var source = cx.createSignal(0);
+        SignalLike<Integer> chain = source;
+        for (int i = 0; i < 5; i++) {
+            var previous = chain;
+            chain = cx.createMemo(() -> previous.get() + 1);
+        }
+        var deep = chain;
+        cx.createEffect(() -> order.add("deep " + deep.get()));
+        cx.createEffect(() -> order.add("shallow " + source.get()));
+        order.clear();
+        source.set(1);
+        assertThat(order).containsExactly("shallow 1", "deep 6");
+    }
+
+    @Test
+    void cancelledEffectsAreNotExecuted() {
+        Consumer<Integer> consumer = mock();
+        var cx = createContext();
+        var outer = cx.createSignal(0);
+        var inner = cx.createSignal(0);
+        cx.createEffect(() -> {
+            outer.get();
+            cx.createEffect(() -> consumer.accept(inner.get()));
+        });
+        cx.batch(() -> {
+            inner.set(1);
+            outer.set(1);
+        });
+        verify(consumer).accept(0);
+        verify(consumer).accept(1);
+        verifyNoMoreInteractions(consumer);
+    }
+
+    @Test
+    void writesInEffectsAreFlushedInOrder() {
+        var cx = createContext();
+        var log = new ArrayList<String>();
+        var first = cx.createSignal(0);
+        var second = cx.createSignal(0);
+        cx.createEffect(() -> log.add("first " + first.get()));
+        cx.createEffect(() -> log.add("second " + second.get()));
+        var trigger = cx.createSignal(0);
+        cx.createEffect(() -> {
+            var value = trigger.get();
+            first.set(value);
+            second.set(value);
+        });
+        log.clear();
+        trigger.set(1);
+        assertThat(log).isEqualTo(List.of("first 1", "second 1"));
+    }
+}
@@ -0,0 +1,114 @@
+package eu.nitonfx.signaling.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public abstract class SelectorTest {
+    abstract Context createContext();
+
+    @Test
+    void onlyPreviousAndNextKeyAreNotified() {
+        var cx = createContext();
+        var selection = cx.createSignal(1);
+        var isSelected = cx.createSelector(selection);
+        var runs = new AtomicInteger[10];
+        for (var i = 0; i < runs.length; i++) {
+            var row = i;
+            runs[row] = new AtomicInteger();
+            cx.createEffect(() -> {
+                isSelected.test(row);
+                runs[row].incrementAndGet();
+            });
+        }
+        selection.set(2);
+        for (var i = 0; i < runs.length; i++) {
+            assertThat(runs[i]).as("runs of row %d", i).hasValue(i == 1 || i == 2 ? 2 : 1);
+        }
+    }
+
+    @Test
+    void readersSeeTheirSelectionState() {
+        var cx = createContext();
+        var selection = cx.createSignal("a");
+        var isSelected = cx.createSelector(selection);
+        Consumer<Boolean> a = mock();
+        Consumer<Boolean> b = mock();
+        cx.createEffect(() -> a.accept(isSelected.test("a")));
+        cx.createEffect(() -> b.accept(isSelected.test("b")));
+        selection.set("b");
+        verify(a).accept(true);
+        verify(a).accept(false);
+        verify(b).accept(false);
+        verify(b).accept(true);
+    }
+
+    @Test
+    void testsOutsideOfEffectsUseCurrentSelection() {
+        var cx = createContext();
+        var selection = cx.createSignal("a");
+        var isSelected = cx.createSelector(selection);
+        assertThat(isSelected.test("a")).isTrue();
+        selection.set("b");
+        assertThat(isSelected.test("a")).isFalse();
+        assertThat(isSelected.test("b")).isTrue();
+    }
+
+    @Test
+    void testsWithinBatchSeeNotifiedSelection() {
+        var cx = createContext();
+        var selection = cx.createSignal("a");
+        var isSelected = cx.createSelector(selection);
+        cx.batch(() -> {
+            selection.set("b");
+            assertThat(isSelected.test("a")).isTrue();
+            assertThat(isSelected.test("b")).isFalse();
+        });
+        assertThat(isSelected.test("a")).isFalse();
+        assertThat(isSelected.test("b")).isTrue();
+    }
+
+    @Test
+    void followsMemoSource() {
+        var cx = createContext();
+        var index = cx.createSignal(0);
+        var selection = cx.createMemo(() -> "row" + index.get());
+        var isSelected = cx.createSelector(selection);
+        Consumer<Boolean> row1 = mock();
+        cx.createEffect(() -> row1.accept(isSelected.test("row1")));
+        index.set(1);
+        verify(row1).accept(false);
+        verify(row1).accept(true);
+    }
+
+    @Test
+    void stopsFollowingSourceWhenOwnerIsDisposed() {
+        var cx = createContext();
+        var selection = cx.createSignal("a");
+        Consumer<Boolean> reader = mock();
+        var owner = cx.run(() -> {
+            var isSelected = cx.createSelector(selection);
+            cx.createEffect(() -> reader.accept(isSelected.test("b")));
+        });
+        owner.cancel();
+        selection.set("b");
+        verify(reader, times(1)).accept(any());
+    }
+
+    @Test
+    void cancelStopsFollowingSource() {
+        var cx = createContext();
+        var selection = cx.createSignal("a");
+        var isSelected = cx.createSelector(selection);
+        Consumer<Boolean> reader = mock();
+        cx.createEffect(() -> reader.accept(isSelected.test("b")));
+        isSelected.cancel();
+        selection.set("b");
+        verify(reader, times(1)).accept(any());
+        assertThat(isSelected.test("a")).isTrue();
+    }
+}
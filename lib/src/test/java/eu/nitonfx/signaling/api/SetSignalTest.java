@@ -6,15 +6,20 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 public abstract class SetSignalTest extends SetSignalSpec {
     abstract class MapTest extends SetSignalSpec {
@@ -68,6 +73,115 @@ public abstract class SetSignalTest extends SetSignalSpec {
                     .containsExactlyInAnyOrder("a-mapped","b-mapped","c-mapped");
         }
     }
+    @Nested
+    class BulkOperations {
+        @Test void addAllRerunsSizeEffectOnce(){
+            var set = init(cx);
+            Consumer<Integer> effect = mock();
+            cx.createEffect(() -> effect.accept(set.size()));
+            set.addAll(List.of("a", "b", "c"));
+            verify(effect).accept(3);
+            verify(effect, times(2)).accept(anyInt());
+        }
+        @Test void addAllCreatesOnAddEffectsForNewElementsOnly(){
+            var set = init(cx);
+            set.add("a");
+            Consumer<String> effect = mock();
+            cx.run(() -> set.onAdd(effect));
+            set.addAll(List.of("a", "b", "c"));
+            verify(effect, times(1)).accept("a");
+            verify(effect).accept("b");
+            verify(effect).accept("c");
+        }
+        @Test void removeAllCleansRemovedElements(){
+            var set = init(cx);
+            set.addAll(List.of("a", "b", "c"));
+            Consumer<String> cleanup = mock();
+            cx.run(() -> set.onAdd(e -> cx.cleanup(() -> cleanup.accept(e))));
+            assertThat(set.removeAll(List.of("a", "c", "x"))).isTrue();
+            assertThat(set.getUntracked()).containsExactly("b");
+            verify(cleanup).accept("a");
+            verify(cleanup).accept("c");
+            verifyNoMoreInteractions(cleanup);
+        }
+        @Test void removeIfRerunsSizeEffectOnce(){
+            var set = init(cx);
+            set.addAll(List.of("a", "bb", "cc"));
+            Consumer<Integer> effect = mock();
+            cx.createEffect(() -> effect.accept(set.size()));
+            set.removeIf(e -> e.length() == 2);
+            verify(effect).accept(1);
+            verify(effect, times(2)).accept(anyInt());
+        }
+        @Test void clearCleansAllElementsAndRerunsOnce(){
+            var set = init(cx);
+            set.addAll(List.of("a", "b", "c"));
+            Consumer<String> cleanup = mock();
+            Consumer<Integer> effect = mock();
+            cx.run(() -> set.onAdd(e -> cx.cleanup(() -> cleanup.accept(e))));
+            cx.createEffect(() -> effect.accept(set.size()));
+            set.clear();
+            verify(cleanup, times(3)).accept(anyString());
+            verify(effect).accept(0);
+            verify(effect, times(2)).accept(anyInt());
+        }
+        @Test void removingManyElementsCleansEachOnce(){
+            var set = init(cx);
+            var elements = new HashSet<String>();
+            for (int i = 0; i < 1000; i++) elements.add("e" + i);
+            set.addAll(elements);
+            Consumer<String> cleanup = mock();
+            cx.run(() -> set.onAdd(e -> cx.cleanup(() -> cleanup.accept(e))));
+            for (int i = 0; i < 500; i++) set.remove("e" + i);
+            set.clear();
+            elements.forEach(e -> verify(cleanup).accept(e));
+            verifyNoMoreInteractions(cleanup);
+        }
+        @Test void readdedElementGetsNewEffect(){
+            var set = init(cx);
+            set.add("a");
+            Consumer<String> effect = mock();
+            Consumer<String> cleanup = mock();
+            cx.run(() -> set.onAdd(e -> {
+                effect.accept(e);
+                cx.cleanup(() -> cleanup.accept(e));
+            }));
+            set.remove("a");
+            set.add("a");
+            verify(effect, times(2)).accept("a");
+            verify(cleanup, times(1)).accept("a");
+        }
+    }
+
+    @Nested
+    class Contains {
+        @Test void onlyRerunsForChangesOfReadElement(){
+            var set = init(cx);
+            Consumer<Boolean> effect = mock();
+            cx.createEffect(() -> effect.accept(set.contains("a")));
+            set.add("b");
+            set.remove("b");
+            verify(effect, times(1)).accept(anyBoolean());
+            set.add("a");
+            verify(effect).accept(true);
+            set.remove("a");
+            verify(effect, times(2)).accept(false);
+        }
+        @Test void bulkOperationsNotifyReadersOfAffectedElements(){
+            var set = init(cx);
+            Consumer<Boolean> a = mock();
+            Consumer<Boolean> c = mock();
+            cx.createEffect(() -> a.accept(set.contains("a")));
+            cx.createEffect(() -> c.accept(set.contains("c")));
+            set.addAll(List.of("a", "b"));
+            verify(a).accept(true);
+            verify(c, times(1)).accept(anyBoolean());
+            set.clear();
+            verify(a, times(2)).accept(false);
+            verify(c, times(1)).accept(anyBoolean());
+        }
+    }
+
     @Nested
     class Map extends MapTest {
 
@@ -0,0 +1,194 @@
+package eu.nitonfx.signaling.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public abstract class SignalTest {
+    abstract Context createContext();
+
+    @Test
+    void versionChangesOnWrite() {
+        var cx = createContext();
+        var signal = cx.createSignal("a");
+        var initial = signal.version();
+        signal.set("b");
+        assertThat(signal.version()).isNotEqualTo(initial);
+    }
+
+    @Test
+    void versionUnchangedOnEqualWrite() {
+        var cx = createContext();
+        var signal = cx.createSignal("a");
+        var initial = signal.version();
+        signal.set("a");
+        assertThat(signal.version()).isEqualTo(initial);
+    }
+
+    @Test
+    void unversionedSignalNotifiesReaders() {
+        var cx = createContext();
+        var delegate = cx.createSignal("a");
+        var unversioned = new SignalLike<String>() {
+            @Override
+            public String get() {
+                return delegate.get();
+            }
+
+            @Override
+            public String getUntracked() {
+                return delegate.getUntracked();
+            }
+
+            @Override
+            public Subscription onDirtyEffect(Consumer<SignalLike<String>> consumer) {
+                return delegate.onDirtyEffect(signal -> consumer.accept(this));
+            }
+
+            @Override
+            public Subscription propagateDirty(Consumer<SignalLike<String>> consumer) {
+                return delegate.propagateDirty(signal -> consumer.accept(this));
+            }
+        };
+        Consumer<String> effect = mock();
+        cx.createEffect(() -> effect.accept(unversioned.get()));
+        assertThat(unversioned.version()).isEqualTo(SignalLike.UNVERSIONED);
+        delegate.set("b");
+        verify(effect).accept("a");
+        verify(effect).accept("b");
+        verifyNoMoreInteractions(effect);
+    }
+
+    @Test
+    void memoVersionOnlyChangesWithValue() {
+        var cx = createContext();
+        var signal = cx.createSignal(1);
+        var isOdd = cx.createMemo(() -> signal.get() % 2 == 1);
+        var initial = isOdd.version();
+        signal.set(3);
+        assertThat(isOdd.version()).isEqualTo(initial);
+        signal.set(4);
+        assertThat(isOdd.version()).isNotEqualTo(initial);
+    }
+
+    @Test
+    void mappedSignalSharesVersion() {
+        var cx = createContext();
+        var signal = cx.createSignal(1);
+        var mapped = signal.map(i -> i * 2);
+        signal.set(2);
+        assertThat(mapped.version()).isEqualTo(signal.version());
+    }
+
+    @Test
+    void effectNotRerunOnEqualWrite() {
+        Consumer<String> consumer = mock();
+        var cx = createContext();
+        var signal = cx.createSignal("a");
+        cx.createEffect(() -> consumer.accept(signal.get()));
+        signal.set("a");
+        verify(consumer, times(1)).accept("a");
+    }
+
+    @Test
+    void customEqualitySkipsEqualWrites() {
+        Consumer<int[]> consumer = mock();
+        var cx = createContext();
+        var signal = cx.createSignal(new int[]{1, 2}, Arrays::equals);
+        cx.createEffect(() -> consumer.accept(signal.get()));
+        signal.set(new int[]{1, 2});
+        verify(consumer, times(1)).accept(any());
+        signal.set(new int[]{1, 3});
+        verify(consumer, times(2)).accept(any());
+    }
+
+    @Test
+    void identityEqualityNotifiesForEqualInstances() {
+        Consumer<String> consumer = mock();
+        var cx = createContext();
+        var signal = cx.createSignal("a", Equality.identity());
+        cx.createEffect(() -> consumer.accept(signal.get()));
+        signal.set(new String("a"));
+        verify(consumer, times(2)).accept("a");
+    }
+
+    @Test
+    void neverEqualityAlwaysNotifies() {
+        Consumer<String> consumer = mock();
+        var cx = createContext();
+        var builder = new StringBuilder("a");
+        var signal = cx.createSignal(builder, Equality.never());
+        cx.createEffect(() -> consumer.accept(signal.get().toString()));
+        builder.append("b");
+        signal.set(builder);
+        verify(consumer).accept("a");
+        verify(consumer).accept("ab");
+    }
+
+    @Test
+    void memoWithCustomEqualityStopsPropagation() {
+        Consumer<int[]> consumer = mock();
+        var cx = createContext();
+        var signal = cx.createSignal(1);
+        var tens = cx.createMemo(() -> new int[]{signal.get() / 10}, Arrays::equals);
+        cx.createEffect(() -> consumer.accept(tens.get()));
+        signal.set(2);
+        verify(consumer, times(1)).accept(any());
+        signal.set(12);
+        verify(consumer, times(2)).accept(any());
+    }
+
+    @Test
+    void memoWithNeverEqualityAlwaysPropagates() {
+        Consumer<Boolean> consumer = mock();
+        var cx = createContext();
+        var signal = cx.createSignal(1);
+        var isOdd = cx.createMemo(() -> signal.get() % 2 == 1, Equality.never());
+        cx.createEffect(() -> consumer.accept(isOdd.get()));
+        signal.set(3);
+        verify(consumer, times(2)).accept(true);
+    }
+
+    @Test
+    void unsubscribedObserverIsNotNotified() {
+        Consumer<SignalLike<String>> observer = mock();
+        var cx = createContext();
+        var signal = cx.createSignal("a");
+        signal.onDirtyEffect(observer).unsubscribe();
+        signal.set("b");
+        verifyNoInteractions(observer);
+    }
+
+    @Test
+    void observerRemovedDuringNotificationIsSkipped() {
+        Consumer<SignalLike<String>> observer = mock();
+        var cx = createContext();
+        var signal = cx.createSignal("a");
+        var subscription = new Subscription[1];
+        signal.onDirtyEffect(__ -> subscription[0].unsubscribe());
+        subscription[0] = signal.onDirtyEffect(observer);
+        signal.set("b");
+        verifyNoInteractions(observer);
+    }
+
+    @Test
+    void observerAddedDuringNotificationIsNotifiedOnNextWrite() {
+        Consumer<SignalLike<String>> observer = mock();
+        var cx = createContext();
+        var signal = cx.createSignal("a");
+        var added = new boolean[1];
+        signal.onDirtyEffect(__ -> {
+            if (added[0]) return;
+            added[0] = true;
+            signal.onDirtyEffect(observer);
+        });
+        signal.set("b");
+        verifyNoInteractions(observer);
+        signal.set("c");
+        verify(observer).accept(signal);
+    }
+}
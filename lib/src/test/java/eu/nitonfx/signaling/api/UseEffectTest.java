@@ -386,4 +386,70 @@ public abstract class UseEffectTest {
         count.set(10);
         verify(effect, never()).accept(10);
     }
+
+    @Test
+    void cancelledEffectDoesNotRunAgain() {
+        var cx = createContext();
+        var count = cx.createSignal(0);
+        Consumer<Integer> effect = mock();
+        var effectHandle = cx.createEffect(() -> effect.accept(count.get()));
+        effectHandle.cancel();
+        if (effectHandle instanceof Runnable runnable) runnable.run();
+        count.set(1);
+        verify(effect, times(1)).accept(anyInt());
+    }
+
+    @Test
+    void untrackedReadDoesNotSubscribe() {
+        var cx = createContext();
+        var tracked = cx.createSignal(0);
+        var ignored = cx.createSignal(0);
+        Consumer<Integer> effect = mock();
+        cx.createEffect(() -> {
+            tracked.get();
+            effect.accept(cx.untracked(ignored::get));
+        });
+        ignored.set(1);
+        verify(effect, times(1)).accept(anyInt());
+        tracked.set(1);
+        verify(effect).accept(1);
+    }
+
+    @Test
+    void dependenciesAndCleanupSurviveUntracked() {
+        var cx = createContext();
+        var before = cx.createSignal(0);
+        var after = cx.createSignal(0);
+        Runnable cleanup = mock();
+        Consumer<Integer> effect = mock();
+        cx.createEffect(() -> {
+            before.get();
+            cx.cleanup(cleanup);
+            cx.untracked(() -> {});
+            effect.accept(after.get());
+        });
+        before.set(1);
+        verify(cleanup, times(1)).run();
+        after.set(1);
+        verify(cleanup, times(2)).run();
+        verify(effect).accept(1);
+    }
+
+    @Test
+    void trackingRestoredAfterFailingUntracked() {
+        var cx = createContext();
+        var count = cx.createSignal(0);
+        Consumer<Integer> effect = mock();
+        cx.createEffect(() -> {
+            try {
+                cx.untracked(() -> {
+                    throw new IllegalStateException();
+                });
+            } catch (IllegalStateException ignored) {
+            }
+            effect.accept(count.get());
+        });
+        count.set(1);
+        verify(effect).accept(1);
+    }
 }
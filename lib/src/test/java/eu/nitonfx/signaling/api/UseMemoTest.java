@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
 public abstract class UseMemoTest {
@@ -155,4 +156,110 @@ public abstract class UseMemoTest {
         signal.set(3);
         verify(consumer).accept("odd");
     }
+
+    @Test
+    void staleChainRecalculatesEachMemoOnceOnRead(){
+        Runnable calc = mock();
+        var cx = createContext();
+        var signal = cx.createSignal(0);
+        SignalLike<Integer> chain = signal;
+        for (int i = 0; i < 20; i++) {
+            var previous = chain;
+            chain = cx.createMemo(() -> {
+                calc.run();
+                return previous.get() + 1;
+            });
+        }
+        assertThat(chain.getUntracked()).isEqualTo(20);
+        signal.set(5);
+        signal.set(7);
+        verify(calc, times(20)).run();
+        assertThat(chain.getUntracked()).isEqualTo(27);
+        assertThat(chain.getUntracked()).isEqualTo(27);
+        verify(calc, times(40)).run();
+    }
+
+    @Test
+    void unchangedIntermediateStopsRecalculationDownstream(){
+        Runnable downstreamCalc = mock();
+        var cx = createContext();
+        var signal = cx.createSignal(1);
+        var isPositive = cx.createMemo(() -> signal.get() > 0);
+        var label = cx.createMemo(() -> isPositive.get() ? "positive" : "negative");
+        var shout = cx.createMemo(() -> {
+            downstreamCalc.run();
+            return label.get().toUpperCase();
+        });
+        assertThat(shout.getUntracked()).isEqualTo("POSITIVE");
+        signal.set(2);
+        assertThat(shout.getUntracked()).isEqualTo("POSITIVE");
+        verify(downstreamCalc, times(1)).run();
+        signal.set(-1);
+        assertThat(shout.getUntracked()).isEqualTo("NEGATIVE");
+        verify(downstreamCalc, times(2)).run();
+    }
+
+    @Test
+    void layeredGraphNotifiesDependantsOncePerWrite() {
+        Consumer<SignalLike<Integer>> observer = mock();
+        var cx = createContext();
+        var signal = cx.createSignal(0);
+        SignalLike<Integer> left = signal;
+        SignalLike<Integer> right = signal;
+        for (int i = 0; i < 16; i++) {
+            var previousLeft = left;
+            var previousRight = right;
+            left = cx.createMemo(() -> previousLeft.get() + previousRight.get());
+            right = cx.createMemo(() -> previousLeft.get() - previousRight.get());
+        }
+        var bottomLeft = left;
+        var bottomRight = right;
+        var bottom = cx.createMemo(() -> bottomLeft.get() + bottomRight.get());
+        bottom.getUntracked();
+        bottom.onDirtyEffect(observer);
+        signal.set(1);
+        verify(observer, times(1)).accept(bottom);
+    }
+
+    @Test
+    void memoReadsLatestValueAfterItsEffectWasCancelled() {
+        var cx = createContext();
+        var signal = cx.createSignal(1);
+        var doubled = cx.createMemo(() -> signal.get() * 2);
+        var effect = cx.createEffect(doubled::get);
+        effect.cancel();
+        signal.set(2);
+        assertThat(doubled.getUntracked()).isEqualTo(4);
+    }
+
+    @Test
+    void unobservedMemoIsNotRecalculatedWhenSourcesAreUnchanged() {
+        Runnable calculation = mock();
+        var cx = createContext();
+        var signal = cx.createSignal(1);
+        var doubled = cx.createMemo(() -> {
+            calculation.run();
+            return signal.get() * 2;
+        });
+        doubled.getUntracked();
+        doubled.getUntracked();
+        verify(calculation, times(1)).run();
+        signal.set(2);
+        assertThat(doubled.getUntracked()).isEqualTo(4);
+        verify(calculation, times(2)).run();
+    }
+
+    @Test
+    void memoObservedAgainNotifiesNewEffect() {
+        Consumer<Integer> consumer = mock();
+        var cx = createContext();
+        var signal = cx.createSignal(1);
+        var doubled = cx.createMemo(() -> signal.get() * 2);
+        cx.createEffect(doubled::get).cancel();
+        signal.set(2);
+        cx.createEffect(() -> consumer.accept(doubled.get()));
+        signal.set(3);
+        verify(consumer).accept(4);
+        verify(consumer).accept(6);
+    }
 }
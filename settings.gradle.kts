@@ -1,5 +1,6 @@
 rootProject.name = "signaling"
 include("lib")
+include("benchmarks")
 include("processor")
 include("example:swing-app")
 